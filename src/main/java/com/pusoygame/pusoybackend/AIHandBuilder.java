@@ -4,12 +4,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * AIHandBuilder contains the logic to split a 13-card hand into back(5), middle(5), front(3).
  * This is a refactor of the AI logic previously embedded in Game.java.
  *
  * Public API: buildBestPartition(cards13) -> returns Partition or null if none found.
+ *             topArrangements(cards13, k) -> up to k non-fouling arrangements, best first.
+ *             estimateEquity(front, middle, back) -> approximate share of rows won, from RowPercentiles.
  */
 public class AIHandBuilder {
 
@@ -23,12 +27,18 @@ public class AIHandBuilder {
         List<Card> pool = new ArrayList<>(cards13);
         pool.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
 
-        List<Partition> candidates = Collections.synchronizedList(new ArrayList<>());
-
         List<List<Card>> firstFives = combinations5(pool);
 
-        firstFives.parallelStream()
-            .forEach(fiveA -> {
+        GameEvents.PartitionPhaseEvent enumeration = new GameEvents.PartitionPhaseEvent();
+        // Per-candidate timing only while the event is recorded.
+        boolean profiled = enumeration.isEnabled();
+        LongAdder normalizeCalls = new LongAdder();
+        LongAdder normalizeNanos = new LongAdder();
+        enumeration.begin();
+
+        List<Partition> candidates = PartitionSearchPool.splitOver(firstFives.size(), ArrayList::new,
+            (found, i) -> {
+                List<Card> fiveA = firstFives.get(i);
                 List<Card> rem8 = subtract(pool, fiveA);
                 List<List<Card>> secondFives = combinations5(rem8);
 
@@ -51,18 +61,41 @@ public class AIHandBuilder {
                     List<Card> middle = (cmp > 0) ? fiveB : fiveA;
 
                     List<Card> pool8 = subtract(pool, back);
+                    long start = profiled ? System.nanoTime() : 0;
                     Partition normalized = normalizeMiddleAndFront(back, middle, pool8);
+                    if (profiled) {
+                        normalizeNanos.add(System.nanoTime() - start);
+                        normalizeCalls.increment();
+                    }
 
                     if (HandEvaluator.compareHands(new Hand(normalized.back), new Hand(normalized.middle)) <= 0) {
                         continue;
                     }
 
-                    candidates.add(normalized);
+                    found.add(normalized);
                 }
+            },
+            (a, b) -> {
+                a.addAll(b);
+                return a;
             });
 
+        enumeration.end();
+        long cardMask = profiled ? GameEvents.cardMask(pool) : 0;
+        if (enumeration.shouldCommit()) {
+            enumeration.phase = "enumeration";
+            enumeration.cards = cardMask;
+            enumeration.backCandidates = firstFives.size();
+            enumeration.candidates = candidates.size();
+            enumeration.normalizeCalls = normalizeCalls.sum();
+            enumeration.normalizeTime = normalizeNanos.sum();
+            enumeration.commit();
+        }
+
         if (candidates.isEmpty()) return null;
 
+        GameEvents.PartitionPhaseEvent sort = new GameEvents.PartitionPhaseEvent();
+        sort.begin();
         candidates.sort((p1, p2) -> {
             int backCmp = aiCompareHandsForSorting(new Hand(p1.back), new Hand(p2.back));
             if (backCmp != 0) return -backCmp;
@@ -71,10 +104,146 @@ public class AIHandBuilder {
             int frontCmp = HandEvaluator.compareHands(new Hand(p1.front), new Hand(p2.front));
             return -frontCmp;
         });
+        sort.end();
+        if (sort.shouldCommit()) {
+            sort.phase = "sort";
+            sort.cards = cardMask;
+            sort.backCandidates = firstFives.size();
+            sort.candidates = candidates.size();
+            sort.commit();
+        }
 
         return candidates.get(0);
     }
 
+    /**
+     * Returns up to k non-fouling arrangements, best first, ranked the same way buildBestPartition ranks
+     * its candidates. Only the k best seen so far are kept while enumerating, so no full candidate list is built.
+     */
+    public static List<ArrangementSuggestion> topArrangements(List<Card> cards13, int k) {
+        if (cards13 == null || cards13.size() != 13 || k <= 0) return Collections.emptyList();
+
+        List<Card> pool = new ArrayList<>(cards13);
+        pool.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
+
+        List<List<Card>> backs = combinations5(pool);
+        TopArrangements top = PartitionSearchPool.splitOver(backs.size(), () -> new TopArrangements(k),
+                (acc, i) -> {
+                    List<Card> back = backs.get(i);
+                    int backStrength = HandEvaluator.evaluateStrength(back);
+                    List<Card> rem8 = subtract(pool, back);
+                    for (List<Card> middle : combinations5(rem8)) {
+                        // back must be strictly > middle; each split is visited once with the stronger five as back.
+                        // A 5-card middle always outranks the 3-card front under compareHands.
+                        int middleStrength = HandEvaluator.evaluateStrength(middle);
+                        if (backStrength <= middleStrength) continue;
+                        List<Card> front = subtract(rem8, middle);
+                        acc.offer(back, middle, front, backStrength, middleStrength, HandEvaluator.evaluateStrength(front));
+                    }
+                },
+                (a, b) -> {
+                    a.mergeFrom(b);
+                    return a;
+                });
+
+        return top.drainBestFirst();
+    }
+
+    /**
+     * Expected share of rows (0..1) this arrangement wins against one random opponent, treating the rows as
+     * independent and ignoring card removal. Three table reads, so cheap enough to score every candidate.
+     * Reported on suggestions and regret reports only: it ignores the scoop, row bonuses and foul penalty that
+     * ScoringEngine pays, so the searches keep their back-middle-front ranking.
+     */
+    public static double estimateEquity(List<Card> front, List<Card> middle, List<Card> back) {
+        return (RowPercentiles.winRate(front) + RowPercentiles.winRate(middle) + RowPercentiles.winRate(back)) / 3;
+    }
+
+    // Bounded min-heap of candidates: the root is the weakest arrangement currently kept.
+    private static final class TopArrangements {
+        private final int capacity;
+        private final PriorityQueue<ScoredArrangement> heap;
+
+        TopArrangements(int capacity) {
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(capacity + 1, ScoredArrangement.ORDER);
+        }
+
+        void offer(List<Card> back, List<Card> middle, List<Card> front,
+                   int backStrength, int middleStrength, int frontStrength) {
+            int backKey = aiPreferenceKey(backStrength);
+            int middleKey = aiPreferenceKey(middleStrength);
+            if (heap.size() == capacity && heap.peek().compareKeys(backKey, middleKey, frontStrength) >= 0) return;
+            add(new ScoredArrangement(back, middle, front, backStrength, middleStrength, frontStrength));
+        }
+
+        private void add(ScoredArrangement candidate) {
+            heap.add(candidate);
+            if (heap.size() > capacity) heap.poll();
+        }
+
+        void mergeFrom(TopArrangements other) {
+            for (ScoredArrangement candidate : other.heap) add(candidate);
+        }
+
+        List<ArrangementSuggestion> drainBestFirst() {
+            List<ScoredArrangement> best = new ArrayList<>(heap);
+            best.sort(ScoredArrangement.ORDER.reversed());
+            List<ArrangementSuggestion> out = new ArrayList<>(best.size());
+            for (ScoredArrangement s : best) {
+                out.add(new ArrangementSuggestion(s.front, s.middle, s.back,
+                        s.frontStrength, s.middleStrength, s.backStrength));
+            }
+            return out;
+        }
+    }
+
+    private static final class ScoredArrangement {
+        static final Comparator<ScoredArrangement> ORDER =
+                (a, b) -> a.compareKeys(b.backKey, b.middleKey, b.frontStrength);
+
+        final List<Card> back;
+        final List<Card> middle;
+        final List<Card> front;
+        final int backStrength;
+        final int middleStrength;
+        final int frontStrength;
+        final int backKey;
+        final int middleKey;
+
+        ScoredArrangement(List<Card> back, List<Card> middle, List<Card> front,
+                          int backStrength, int middleStrength, int frontStrength) {
+            this.back = back;
+            this.middle = middle;
+            this.front = front;
+            this.backStrength = backStrength;
+            this.middleStrength = middleStrength;
+            this.frontStrength = frontStrength;
+            this.backKey = aiPreferenceKey(backStrength);
+            this.middleKey = aiPreferenceKey(middleStrength);
+        }
+
+        // > 0 when this arrangement is preferred over the one described by the given keys.
+        int compareKeys(int otherBackKey, int otherMiddleKey, int otherFrontStrength) {
+            if (backKey != otherBackKey) return Integer.compare(backKey, otherBackKey);
+            if (middleKey != otherMiddleKey) return Integer.compare(middleKey, otherMiddleKey);
+            return Integer.compare(frontStrength, otherFrontStrength);
+        }
+    }
+
+    /**
+     * Integer form of aiCompareHandsForSorting: for quads and full houses the kicker / pair nibble is
+     * inverted so that, with the top group tied, the lower kicker or pair is preferred.
+     */
+    static int aiPreferenceKey(int strength) {
+        HandEvaluator.HandRank rank = HandEvaluator.categoryOf(strength);
+        if (rank == HandEvaluator.HandRank.FOUR_OF_A_KIND || rank == HandEvaluator.HandRank.FULL_HOUSE) {
+            int second = (strength >>> 12) & 0xF;
+            return (strength & ~0xF000) | ((15 - second) << 12);
+        }
+        return strength;
+    }
+
     // ---------- normalization logic with high-card fallback ----------
     private static Partition normalizeMiddleAndFront(List<Card> back, List<Card> proposedMiddle, List<Card> pool8) {
         Hand midH = new Hand(new ArrayList<>(proposedMiddle));
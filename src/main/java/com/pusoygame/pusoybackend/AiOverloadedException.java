@@ -0,0 +1,16 @@
+package com.pusoygame.pusoybackend;
+
+// Thrown when the AI work queue is saturated and the overload policy is REJECT.
+public class AiOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AiOverloadedException(long retryAfterSeconds) {
+        super("AI capacity exhausted, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,164 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission control for AI hand setup. Each new table's AI seats are arranged as one job on a bounded
+ * executor with a fixed number of workers and a bounded queue, instead of every request starting its
+ * own searches.
+ *
+ * When the queue is full, or a job is not done within max-wait-ms, the overload policy applies:
+ *   REJECT  - throw AiOverloadedException, answered with 503 and Retry-After
+ *   DEGRADE - arrange the AI seats with Game.arrangeAISeatsSorted on the caller's thread
+ *
+ * Metrics: pusoy.ai.queue.depth, pusoy.ai.active, pusoy.ai.queue.wait, pusoy.ai.search,
+ * pusoy.ai.rejected and pusoy.ai.degraded.
+ */
+@Component
+public class AiWorkQueue {
+
+    public enum OverloadPolicy {
+        REJECT,
+        DEGRADE
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final OverloadPolicy defaultPolicy;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    private final Timer queueWait;
+    private final Timer searchTime;
+    private final Counter rejected;
+    private final Counter degraded;
+
+    public AiWorkQueue(MeterRegistry meters,
+                       @Value("${pusoy.ai.concurrency:2}") int concurrency,
+                       @Value("${pusoy.ai.queue-capacity:64}") int queueCapacity,
+                       @Value("${pusoy.ai.max-wait-ms:10000}") long maxWaitMs,
+                       @Value("${pusoy.ai.overload-policy:DEGRADE}") OverloadPolicy defaultPolicy,
+                       @Value("${pusoy.ai.retry-after-seconds:5}") long retryAfterSeconds) {
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "ai-work-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.defaultPolicy = defaultPolicy;
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("pusoy.ai.queue.depth", executor, e -> e.getQueue().size()).register(meters);
+        Gauge.builder("pusoy.ai.active", executor, ThreadPoolExecutor::getActiveCount).register(meters);
+        this.queueWait = Timer.builder("pusoy.ai.queue.wait").publishPercentiles(0.5, 0.99).register(meters);
+        this.searchTime = Timer.builder("pusoy.ai.search").publishPercentiles(0.5, 0.99).register(meters);
+        this.rejected = Counter.builder("pusoy.ai.rejected").register(meters);
+        this.degraded = Counter.builder("pusoy.ai.degraded").register(meters);
+    }
+
+    public void arrangeAISeats(Game game) {
+        arrangeAISeats(game, defaultPolicy);
+    }
+
+    /**
+     * Arranges every AI seat of the game through the queue, blocking the caller until it is done
+     * or the overload policy has been applied.
+     */
+    public void arrangeAISeats(Game game, OverloadPolicy policy) {
+        long enqueuedAt = System.nanoTime();
+        // Taken by whichever comes first: the worker starting the search, or the caller shedding the job.
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> job;
+        try {
+            job = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) return;
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                searchTime.record(game::arrangeAISeats);
+            });
+        } catch (RejectedExecutionException e) {
+            overloaded(game, policy);
+            return;
+        }
+
+        try {
+            job.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Only shed the job if it has not started; a running search is cheaper to finish than to redo.
+            if (shed(job, claimed)) {
+                overloaded(game, policy);
+            } else {
+                awaitRunning(job, false);
+            }
+        } catch (InterruptedException e) {
+            // A job that has started owns the game until it is done, so the sorted split must not race it.
+            if (shed(job, claimed)) {
+                Thread.currentThread().interrupt();
+                overloaded(game, policy);
+            } else {
+                awaitRunning(job, true);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("AI hand setup failed", e.getCause());
+        }
+    }
+
+    private void overloaded(Game game, OverloadPolicy policy) {
+        if (policy == OverloadPolicy.REJECT) {
+            rejected.increment();
+            throw new AiOverloadedException(retryAfterSeconds);
+        }
+        degraded.increment();
+        game.arrangeAISeatsSorted();
+    }
+
+    // Future.cancel(false) also succeeds on a running job, so whether it started is decided by the claim.
+    private static boolean shed(Future<?> job, AtomicBoolean claimed) {
+        if (!claimed.compareAndSet(false, true)) return false;
+        job.cancel(false);
+        return true;
+    }
+
+    // Waits for a job that is already running, then restores any interrupt received before or during the wait.
+    private static void awaitRunning(Future<?> job, boolean interrupted) {
+        try {
+            while (true) {
+                try {
+                    job.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("AI hand setup failed", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
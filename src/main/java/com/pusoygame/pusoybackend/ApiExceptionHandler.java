@@ -0,0 +1,30 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Load shedding: tell clients when to come back instead of letting them queue behind the AI searches.
+    @ExceptionHandler(AiOverloadedException.class)
+    public ResponseEntity<Map<String, String>> aiOverloaded(AiOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", Long.toString(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
+
+    // A table handed off after ShardRoutingInterceptor let the request through: replay it against the new owner.
+    @ExceptionHandler(TableMovedException.class)
+    public ResponseEntity<Void> tableMoved(TableMovedException e, HttpServletRequest request) {
+        String location = e.getOwner() + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).header("Location", location).build();
+    }
+}
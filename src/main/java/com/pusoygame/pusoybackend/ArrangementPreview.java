@@ -0,0 +1,114 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.List;
+
+/**
+ * Quick look at a partial or full arrangement while it is being built: each complete row's category, strength
+ * and win rate, whether the rows foul, and which complete row is weakest.
+ *
+ * Every complete row is one HandTables and one RowPercentiles lookup, so a preview costs a handful of array
+ * reads and can be requested on every card move. Incomplete rows are reported by card count only.
+ */
+public class ArrangementPreview {
+
+    public enum Row {
+        FRONT,
+        MIDDLE,
+        BACK
+    }
+
+    public static class RowPreview {
+
+        private final int cardCount;
+        private final boolean complete;
+        private final HandEvaluator.HandRank category;
+        private final int strength;
+        private final double winRate;
+
+        RowPreview(List<Card> cards, int size) {
+            this.cardCount = cards.size();
+            this.complete = cards.size() == size;
+            this.strength = complete ? HandEvaluator.evaluateStrength(cards) : 0;
+            this.category = complete ? HandEvaluator.categoryOf(strength) : null;
+            this.winRate = complete ? RowPercentiles.winRate(cards) : 0;
+        }
+
+        public int getCardCount() {
+            return cardCount;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        // Null until the row is complete.
+        public HandEvaluator.HandRank getCategory() {
+            return category;
+        }
+
+        public int getStrength() {
+            return strength;
+        }
+
+        // Chance of beating a random row of the same size; see RowPercentiles.
+        public double getWinRate() {
+            return winRate;
+        }
+    }
+
+    private final RowPreview front;
+    private final RowPreview middle;
+    private final RowPreview back;
+    private final Boolean fouled;
+    private final Row weakestRow;
+
+    private ArrangementPreview(RowPreview front, RowPreview middle, RowPreview back) {
+        this.front = front;
+        this.middle = middle;
+        this.back = back;
+        // As in Game.checkFoul: a 5-card middle always outranks a 3-card front, so only back vs middle can foul.
+        this.fouled = middle.complete && back.complete ? back.strength <= middle.strength : null;
+        Row weakest = null;
+        double lowest = Double.MAX_VALUE;
+        RowPreview[] rows = {front, middle, back};
+        for (Row row : Row.values()) {
+            RowPreview r = rows[row.ordinal()];
+            if (r.complete && r.winRate < lowest) {
+                lowest = r.winRate;
+                weakest = row;
+            }
+        }
+        this.weakestRow = weakest;
+    }
+
+    // Rows may be partial; callers check that no row is over size and no card repeats.
+    public static ArrangementPreview of(List<Card> front, List<Card> middle, List<Card> back) {
+        return new ArrangementPreview(new RowPreview(front, 3), new RowPreview(middle, 5), new RowPreview(back, 5));
+    }
+
+    public RowPreview getFront() {
+        return front;
+    }
+
+    public RowPreview getMiddle() {
+        return middle;
+    }
+
+    public RowPreview getBack() {
+        return back;
+    }
+
+    // Null until both the middle and back rows are complete.
+    public Boolean getFouled() {
+        return fouled;
+    }
+
+    // The complete row least likely to win, or null if no row is complete yet.
+    public Row getWeakestRow() {
+        return weakestRow;
+    }
+
+    public boolean isComplete() {
+        return front.complete && middle.complete && back.complete;
+    }
+}
@@ -0,0 +1,87 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * One suggested front/middle/back arrangement with the category and strength of each row.
+ * Strengths come from HandEvaluator.evaluateStrength and are only comparable between rows of the same size.
+ */
+public class ArrangementSuggestion {
+
+    private final List<Card> frontHand;
+    private final List<Card> middleHand;
+    private final List<Card> backHand;
+
+    private final HandEvaluator.HandRank frontCategory;
+    private final HandEvaluator.HandRank middleCategory;
+    private final HandEvaluator.HandRank backCategory;
+
+    private final int frontStrength;
+    private final int middleStrength;
+    private final int backStrength;
+
+    private final double estimatedEquity;
+
+    public ArrangementSuggestion(List<Card> front, List<Card> middle, List<Card> back,
+                                 int frontStrength, int middleStrength, int backStrength) {
+        this.frontHand = sortedCopy(front);
+        this.middleHand = sortedCopy(middle);
+        this.backHand = sortedCopy(back);
+        this.frontStrength = frontStrength;
+        this.middleStrength = middleStrength;
+        this.backStrength = backStrength;
+        this.frontCategory = HandEvaluator.categoryOf(frontStrength);
+        this.middleCategory = HandEvaluator.categoryOf(middleStrength);
+        this.backCategory = HandEvaluator.categoryOf(backStrength);
+        this.estimatedEquity = AIHandBuilder.estimateEquity(frontHand, middleHand, backHand);
+    }
+
+    private static List<Card> sortedCopy(List<Card> cards) {
+        List<Card> copy = new ArrayList<>(cards);
+        copy.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
+        return copy;
+    }
+
+    public List<Card> getFrontHand() {
+        return frontHand;
+    }
+
+    public List<Card> getMiddleHand() {
+        return middleHand;
+    }
+
+    public List<Card> getBackHand() {
+        return backHand;
+    }
+
+    public HandEvaluator.HandRank getFrontCategory() {
+        return frontCategory;
+    }
+
+    public HandEvaluator.HandRank getMiddleCategory() {
+        return middleCategory;
+    }
+
+    public HandEvaluator.HandRank getBackCategory() {
+        return backCategory;
+    }
+
+    public int getFrontStrength() {
+        return frontStrength;
+    }
+
+    public int getMiddleStrength() {
+        return middleStrength;
+    }
+
+    public int getBackStrength() {
+        return backStrength;
+    }
+
+    // Approximate share of rows won against a random opponent; see AIHandBuilder.estimateEquity.
+    public double getEstimatedEquity() {
+        return estimatedEquity;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Detects the special auto-win hands you specified:
@@ -31,21 +32,56 @@ public class AutoWinChecker {
         DRAGON_STRAIGHT_FLUSH
     }
 
+    // A detected auto-win and the arrangement that qualifies for it; arrangement is null for NONE.
+    public record AutoWin(AutoWinType type, Partition arrangement) {
+    }
+
+    private static final AutoWin NO_AUTO_WIN = new AutoWin(AutoWinType.NONE, null);
+
     /**
      * Detect the strongest applicable auto-win for the given 13 cards.
      */
     public static AutoWinType detectAutoWin(List<Card> cards13) {
-        if (cards13 == null || cards13.size() != 13) return AutoWinType.NONE;
+        return findAutoWin(cards13).type();
+    }
+
+    /**
+     * Detect the strongest applicable auto-win together with the split that makes it, so a declared
+     * hand never needs the partition search. Every returned split puts the stronger five in the back.
+     */
+    public static AutoWin findAutoWin(List<Card> cards13) {
+        if (cards13 == null || cards13.size() != 13) return NO_AUTO_WIN;
 
+        GameEvents.AutoWinEvent event = new GameEvents.AutoWinEvent();
+        event.begin();
+        AutoWin result = find(cards13);
+        event.end();
+        if (event.shouldCommit()) {
+            event.cards = GameEvents.cardMask(cards13);
+            event.result = result.type().name();
+            event.commit();
+        }
+        return result;
+    }
+
+    private static AutoWin find(List<Card> cards13) {
+        Partition p;
         // Strongest first
-        if (isDragonStraightFlush(cards13)) return AutoWinType.DRAGON_STRAIGHT_FLUSH;
-        if (isDragonStraight(cards13)) return AutoWinType.DRAGON_STRAIGHT;
-        if (hasThreeStraightFlushes(cards13)) return AutoWinType.THREE_STRAIGHT_FLUSHES;
-        if (hasThreeFlushes(cards13)) return AutoWinType.THREE_FLUSHES;
-        if (hasThreeStraights(cards13)) return AutoWinType.THREE_STRAIGHTS;
-        if (hasSixPairs(cards13)) return AutoWinType.SIX_PAIRS;
+        if (isDragonStraightFlush(cards13)) return new AutoWin(AutoWinType.DRAGON_STRAIGHT_FLUSH, sortedSplit(cards13));
+        if (isDragonStraight(cards13)) return new AutoWin(AutoWinType.DRAGON_STRAIGHT, sortedSplit(cards13));
+        if ((p = findThreeRows(cards13, AutoWinChecker::isStraightFlushLike,
+                AutoWinChecker::isThreeCardStraightFlush)) != null) {
+            return new AutoWin(AutoWinType.THREE_STRAIGHT_FLUSHES, p);
+        }
+        if ((p = findThreeRows(cards13, AutoWinChecker::isFlushLike, AutoWinChecker::isThreeCardFlush)) != null) {
+            return new AutoWin(AutoWinType.THREE_FLUSHES, p);
+        }
+        if ((p = findThreeRows(cards13, AutoWinChecker::isStraightLike, AutoWinChecker::isThreeCardStraight)) != null) {
+            return new AutoWin(AutoWinType.THREE_STRAIGHTS, p);
+        }
+        if ((p = sixPairsSplit(cards13)) != null) return new AutoWin(AutoWinType.SIX_PAIRS, p);
 
-        return AutoWinType.NONE;
+        return NO_AUTO_WIN;
     }
 
     // Checks 6 pairs anywhere among 13 cards
@@ -81,77 +117,107 @@ public class AutoWinChecker {
 
     // 3 flushes: there exists a split where both 5-card hands are flush-like AND the remaining 3 are same suit
     public static boolean hasThreeFlushes(List<Card> cards13) {
-        List<List<Card>> first5 = combinations5(cards13);
-        for (List<Card> a : first5) {
-            List<Card> rem8 = subtract(cards13, a);
-            List<List<Card>> second5 = combinations5(rem8);
-            for (List<Card> b : second5) {
-                List<Card> back = a;
-                List<Card> middle = b;
-                if (!isFlushLike(back) || !isFlushLike(middle)) continue;
-                List<Card> front = subtract(rem8, b);
-                if (front.size() != 3) continue;
-                if (isThreeCardFlush(front)) return true;
-            }
-        }
-        return false;
+        return findThreeRows(cards13, AutoWinChecker::isFlushLike, AutoWinChecker::isThreeCardFlush) != null;
     }
 
     // 3 straights: both back and middle are straight-like AND front 3 are straight (3-card consecutive)
     public static boolean hasThreeStraights(List<Card> cards13) {
-        List<List<Card>> first5 = combinations5(cards13);
-        for (List<Card> a : first5) {
-            List<Card> rem8 = subtract(cards13, a);
-            List<List<Card>> second5 = combinations5(rem8);
-            for (List<Card> b : second5) {
-                List<Card> back = a;
-                List<Card> middle = b;
-                if (!isStraightLike(back) || !isStraightLike(middle)) continue;
-                List<Card> front = subtract(rem8, b);
-                if (front.size() != 3) continue;
-                if (isThreeCardStraight(front)) return true;
-            }
-        }
-        return false;
+        return findThreeRows(cards13, AutoWinChecker::isStraightLike, AutoWinChecker::isThreeCardStraight) != null;
     }
 
     // 3 straight flushes: both back/middle are straight-flush-like and front is 3-card straight-flush
     public static boolean hasThreeStraightFlushes(List<Card> cards13) {
-        List<List<Card>> first5 = combinations5(cards13);
-        for (List<Card> a : first5) {
+        return findThreeRows(cards13, AutoWinChecker::isStraightFlushLike,
+                AutoWinChecker::isThreeCardStraightFlush) != null;
+    }
+
+    /**
+     * First split whose two fives and remaining three all qualify, stronger five in the back; null if none.
+     * Two fives of equal strength (the same ranks in two suits) are skipped: the back must beat the middle
+     * strictly, so such a split fouls and cannot be declared.
+     */
+    private static Partition findThreeRows(List<Card> cards13, Predicate<List<Card>> fiveQualifies,
+                                           Predicate<List<Card>> threeQualifies) {
+        for (List<Card> a : combinations5(cards13)) {
+            // Most fives fail on their own, so the second five is only enumerated for those that pass.
+            if (!fiveQualifies.test(a)) continue;
             List<Card> rem8 = subtract(cards13, a);
-            List<List<Card>> second5 = combinations5(rem8);
-            for (List<Card> b : second5) {
-                List<Card> back = a;
-                List<Card> middle = b;
-                if (!isStraightFlushLike(back) || !isStraightFlushLike(middle)) continue;
+            for (List<Card> b : combinations5(rem8)) {
+                if (!fiveQualifies.test(b)) continue;
                 List<Card> front = subtract(rem8, b);
-                if (front.size() != 3) continue;
-                if (isThreeCardStraightFlush(front)) return true;
+                if (front.size() != 3 || !threeQualifies.test(front)) continue;
+                if (HandEvaluator.evaluateStrength(a) == HandEvaluator.evaluateStrength(b)) continue;
+                return oriented(a, b, front);
             }
         }
-        return false;
+        return null;
+    }
+
+    // Dragons: 10..A and 5..9 as the two fives (the stronger one, e.g. a suited 5..9, in the back), 2..4 in front.
+    private static Partition sortedSplit(List<Card> cards13) {
+        List<Card> sorted = new ArrayList<>(cards13);
+        sorted.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
+        List<Card> high = new ArrayList<>(sorted.subList(8, 13));
+        List<Card> low = new ArrayList<>(sorted.subList(3, 8));
+        List<Card> front = new ArrayList<>(sorted.subList(0, 3));
+        return oriented(high, low, front);
+    }
+
+    // Callers never pass two fives of equal strength, so the back always beats the middle strictly.
+    private static Partition oriented(List<Card> a, List<Card> b, List<Card> front) {
+        return HandEvaluator.evaluateStrength(a) > HandEvaluator.evaluateStrength(b)
+                ? new Partition(a, b, front)
+                : new Partition(b, a, front);
+    }
+
+    /**
+     * Six pairs: with pairs p0 >= ... >= p5 and the odd card s, the fives are p0 p1 + one card of p5 and
+     * p2 p3 + the other card of p5, the front is p4 + s. Each five is two pair, or quads when a rank's four
+     * cards land together, and the stronger one goes to the back.
+     */
+    private static Partition sixPairsSplit(List<Card> cards13) {
+        if (!hasSixPairs(cards13)) return null;
+        List<Card> sorted = new ArrayList<>(cards13);
+        sorted.sort(Comparator.comparingInt((Card card) -> card.getRank().getValue()).reversed());
+
+        List<List<Card>> pairs = new ArrayList<>();
+        List<Card> singles = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); ) {
+            if (i + 1 < sorted.size() && sorted.get(i).getRank() == sorted.get(i + 1).getRank()) {
+                pairs.add(List.of(sorted.get(i), sorted.get(i + 1)));
+                i += 2;
+            } else {
+                singles.add(sorted.get(i++));
+            }
+        }
+
+        List<Card> high = new ArrayList<>(pairs.get(0));
+        high.addAll(pairs.get(1));
+        high.add(pairs.get(5).get(0));
+        List<Card> low = new ArrayList<>(pairs.get(2));
+        low.addAll(pairs.get(3));
+        low.add(pairs.get(5).get(1));
+        List<Card> front = new ArrayList<>(pairs.get(4));
+        front.add(singles.get(0));
+        return oriented(high, low, front);
     }
 
     // ---------- small helpers ----------
 
     private static boolean isStraightFlushLike(List<Card> five) {
-        Hand h = new Hand(new ArrayList<>(five));
-        HandEvaluator.HandRank r = HandEvaluator.evaluateFiveCardHand(h);
+        HandEvaluator.HandRank r = HandEvaluator.categoryOf(HandEvaluator.evaluateStrength(five));
         return r == HandEvaluator.HandRank.STRAIGHT_FLUSH || r == HandEvaluator.HandRank.ROYAL_FLUSH;
     }
 
     private static boolean isStraightLike(List<Card> five) {
-        Hand h = new Hand(new ArrayList<>(five));
-        HandEvaluator.HandRank r = HandEvaluator.evaluateFiveCardHand(h);
+        HandEvaluator.HandRank r = HandEvaluator.categoryOf(HandEvaluator.evaluateStrength(five));
         return r == HandEvaluator.HandRank.STRAIGHT
                 || r == HandEvaluator.HandRank.STRAIGHT_FLUSH
                 || r == HandEvaluator.HandRank.ROYAL_FLUSH;
     }
 
     private static boolean isFlushLike(List<Card> five) {
-        Hand h = new Hand(new ArrayList<>(five));
-        HandEvaluator.HandRank r = HandEvaluator.evaluateFiveCardHand(h);
+        HandEvaluator.HandRank r = HandEvaluator.categoryOf(HandEvaluator.evaluateStrength(five));
         return r == HandEvaluator.HandRank.FLUSH
                 || r == HandEvaluator.HandRank.STRAIGHT_FLUSH
                 || r == HandEvaluator.HandRank.ROYAL_FLUSH;
@@ -0,0 +1,46 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.List;
+
+/**
+ * Batch evaluation of 5-card hands for simulations: strengths identical to HandEvaluator.evaluateStrength.
+ *
+ * Each hand is packed into one int, six bits per card index (Card.getIndex()):
+ * c0 | c1 << 6 | c2 << 12 | c3 << 18 | c4 << 24.
+ *
+ * When the JVM runs with --add-modules jdk.incubator.vector, batches go through VectorHandEvaluator;
+ * otherwise through the scalar loop below, which is also the reference the vector path must match.
+ */
+public class BatchHandEvaluator {
+
+    public static final boolean VECTORIZED =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    public static int encode(List<Card> five) {
+        return encode(five.get(0).getIndex(), five.get(1).getIndex(), five.get(2).getIndex(),
+                five.get(3).getIndex(), five.get(4).getIndex());
+    }
+
+    public static int encode(int c0, int c1, int c2, int c3, int c4) {
+        return c0 | c1 << 6 | c2 << 12 | c3 << 18 | c4 << 24;
+    }
+
+    /**
+     * Writes the strength of hands[i] to strengths[i] for i in [0, count).
+     */
+    public static void evaluate(int[] hands, int[] strengths, int count) {
+        if (VECTORIZED) {
+            VectorHandEvaluator.evaluate(hands, strengths, count);
+        } else {
+            evaluateScalar(hands, strengths, 0, count);
+        }
+    }
+
+    public static void evaluateScalar(int[] hands, int[] strengths, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int h = hands[i];
+            strengths[i] = HandTables.strength5(h & 63, (h >>> 6) & 63, (h >>> 12) & 63,
+                    (h >>> 18) & 63, (h >>> 24) & 63);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.InputStream;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Streams AI arrangements for many hands in one request; see BulkArrangementService for the line format.
+@RestController
+public class BulkArrangementController {
+
+    private final BulkArrangementService bulk;
+    private final long requestTimeoutMs;
+
+    public BulkArrangementController(BulkArrangementService bulk,
+                                     @Value("${pusoy.bulk.request-timeout-ms:600000}") long requestTimeoutMs) {
+        this.bulk = bulk;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    @PostMapping(value = "/arrangements/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> arrange(InputStream body, HttpServletRequest request) {
+        // A bulk stream runs as long as its input does, so it gets its own async timeout; every other async
+        // request keeps the container default. On timeout the stream is interrupted and its hands cancelled.
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(requestTimeoutMs);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bulk.process(body, out));
+    }
+}
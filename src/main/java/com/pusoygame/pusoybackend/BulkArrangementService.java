@@ -0,0 +1,162 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.PreDestroy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Arranges a stream of 13-card hands for bots and analysis jobs.
+ *
+ * Input is NDJSON, one hand per line, either a bare array of 13 cards or {"id": ..., "cards": [...]}.
+ * Each hand is arranged by AIHandBuilder on a dedicated pool and written back as its own NDJSON line
+ * as soon as it finishes, so output order follows completion, not input; "index" ties a result to its
+ * input line. At most max-in-flight hands are read ahead of the results, which bounds memory no matter
+ * how large the input is.
+ */
+@Component
+public class BulkArrangementService {
+
+    private static final TypeReference<List<Card>> CARDS = new TypeReference<>() {};
+
+    private final ObjectMapper mapper;
+    private final ExecutorService workers;
+    private final int maxInFlight;
+
+    public BulkArrangementService(ObjectMapper mapper,
+                                  @Value("${pusoy.bulk.parallelism:2}") int parallelism,
+                                  @Value("${pusoy.bulk.max-in-flight:16}") int maxInFlight) {
+        this.mapper = mapper;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "bulk-arrange-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Reads and arranges until the input ends, then waits for the last results. If a result cannot be
+     * written (the client went away) or the stream is interrupted (its request timed out), reading stops,
+     * queued and running hands are cancelled and the failure is rethrown.
+     */
+    public void process(InputStream input, OutputStream output) throws IOException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Set<Future<?>> pending = ConcurrentHashMap.newKeySet();
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        int index = 0;
+        boolean completed = false;
+        try {
+            for (String line; writeFailure.get() == null && (line = reader.readLine()) != null; ) {
+                if (line.isBlank()) continue;
+                int lineIndex = index++;
+                String request = line;
+                inFlight.acquire();
+                FutureTask<Void> task = new FutureTask<>(() -> {
+                    if (writeFailure.get() != null) return;
+                    try {
+                        writeLine(output, arrange(lineIndex, request));
+                    } catch (IOException e) {
+                        if (writeFailure.compareAndSet(null, e)) cancelAll(pending);
+                    }
+                }, null) {
+                    // Runs once the hand is written, skipped or cancelled, so a cancelled hand frees its slot too.
+                    @Override
+                    protected void done() {
+                        pending.remove(this);
+                        inFlight.release();
+                    }
+                };
+                pending.add(task);
+                workers.execute(task);
+            }
+            // Wait for every outstanding hand before the response completes.
+            inFlight.acquire(maxInFlight);
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Bulk arrangement interrupted");
+        } finally {
+            if (!completed) cancelAll(pending);
+        }
+        IOException failure = writeFailure.get();
+        if (failure != null) throw failure;
+    }
+
+    private static void cancelAll(Set<Future<?>> pending) {
+        for (Future<?> task : pending) task.cancel(true);
+    }
+
+    private Map<String, Object> arrange(int index, String line) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        try {
+            JsonNode node = mapper.readTree(line);
+            JsonNode cardsNode = node.isArray() ? node : node.path("cards");
+            if (node.has("id")) result.put("id", node.get("id").asText());
+            List<Card> cards = mapper.convertValue(cardsNode, CARDS);
+            if (cards == null || cards.size() != 13 || new HashSet<>(cards).size() != 13) {
+                result.put("error", "expected 13 distinct cards");
+                return result;
+            }
+
+            result.put("autoWin", AutoWinChecker.detectAutoWin(cards));
+            Partition p = AIHandBuilder.buildBestPartition(cards);
+            if (p == null) {
+                result.put("error", "no valid partition");
+                return result;
+            }
+            result.put("frontHand", p.front);
+            result.put("middleHand", p.middle);
+            result.put("backHand", p.back);
+        } catch (IOException | IllegalArgumentException e) {
+            result.put("error", "unreadable hand: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // One bad hand must not end the stream for the hands after it.
+            System.out.println("Bulk arrangement of line " + index + " failed: " + e);
+            result.put("error", "arrangement failed");
+        }
+        return result;
+    }
+
+    private void writeLine(OutputStream output, Map<String, Object> result) throws IOException {
+        byte[] line = mapper.writeValueAsBytes(result);
+        synchronized (output) {
+            output.write(line);
+            output.write('\n');
+            output.flush();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -1,8 +1,22 @@
 package com.pusoygame.pusoybackend;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class Card {
     private final Suit suit;
     private final Rank rank;
 
+    // One shared instance per index, for decoding compact card encodings without allocating.
+    private static final Card[] BY_INDEX = new Card[52];
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(suit, rank);
+                BY_INDEX[card.getIndex()] = card;
+            }
+        }
+    }
+
     public Card(Suit suit, Rank rank) {
         this.suit = suit;
         this.rank = rank;
@@ -16,6 +30,16 @@ public class Card {
         return rank;
     }
 
+    // Compact 0..51 encoding: (rank value - 2) * 4 + suit ordinal, so index >> 2 is the rank and index & 3 the suit.
+    @JsonIgnore
+    public int getIndex() {
+        return (rank.getValue() - 2) * 4 + suit.ordinal();
+    }
+
+    public static Card fromIndex(int index) {
+        return BY_INDEX[index];
+    }
+
     @Override
     public String toString() {
         return rank.toString() + " of " + suit.toString();
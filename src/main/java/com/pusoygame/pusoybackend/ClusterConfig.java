@@ -0,0 +1,20 @@
+package com.pusoygame.pusoybackend;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ClusterConfig implements WebMvcConfigurer {
+
+    private final ShardRoutingInterceptor shardRouting;
+
+    public ClusterConfig(ShardRoutingInterceptor shardRouting) {
+        this.shardRouting = shardRouting;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(shardRouting).addPathPatterns("/tables/**");
+    }
+}
@@ -0,0 +1,71 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Node-to-node endpoints: membership changes and table handoff. Both writes require the shared cluster secret.
+@RestController
+public class ClusterController {
+
+    private final ClusterMembership cluster;
+    private final TableRegistry tables;
+
+    public ClusterController(ClusterMembership cluster, TableRegistry tables) {
+        this.cluster = cluster;
+        this.tables = tables;
+    }
+
+    @GetMapping("/cluster/members")
+    public List<String> getMembers() {
+        return cluster.getNodes();
+    }
+
+    // Body is a comma-separated list of node base URLs. With propagate=true the list is also sent to the other nodes.
+    // The change, handoffs included, runs in the background; GET /cluster/members shows when it is installed.
+    @PostMapping(value = "/cluster/members", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Map<String, Object>> setMembers(
+            @RequestHeader(value = ClusterMembership.SECRET_HEADER, required = false) String secret,
+            @RequestBody String nodes,
+            @RequestParam(defaultValue = "false") boolean propagate) {
+        if (!cluster.authorized(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        List<String> members = Arrays.asList(nodes.split(","));
+        cluster.changeMembers(members, propagate);
+        Map<String, Object> result = new HashMap<>();
+        result.put("requested", members);
+        result.put("propagate", propagate);
+        return ResponseEntity.accepted().body(result);
+    }
+
+    // Receives a table handed off by another node, encoded with GameSnapshotCodec.encodeTable.
+    @PostMapping(value = "/cluster/tables", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> importTable(
+            @RequestHeader(value = ClusterMembership.SECRET_HEADER, required = false) String secret,
+            @RequestBody byte[] record) {
+        if (!cluster.authorized(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Map<String, Game> received = new HashMap<>();
+        try {
+            GameSnapshotCodec.decodeTable(record, received);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        received.forEach(tables::put);
+        return ResponseEntity.ok().build();
+    }
+}
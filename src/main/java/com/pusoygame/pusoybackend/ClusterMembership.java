@@ -0,0 +1,229 @@
+package com.pusoygame.pusoybackend;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * ClusterMembership knows which backend nodes share the lobby tables and which node owns each table.
+ *
+ * Ownership comes from a ShardRing over the configured node URLs. When membership changes, every
+ * local table that now belongs elsewhere is encoded with GameSnapshotCodec, pushed to its new owner
+ * and dropped locally. The frontend's DEFAULT_TABLE is per node and never moves. Nodes authenticate
+ * to each other's /cluster endpoints with a shared secret (pusoy.cluster.secret).
+ *
+ * Several local instances form a cluster by giving each its own port, self URL and snapshot file:
+ *   --server.port=8081 --pusoy.cluster.self=http://localhost:8081
+ *   --pusoy.cluster.nodes=http://localhost:8080,http://localhost:8081 --pusoy.snapshot.path=data/8081.snapshot
+ *   --pusoy.cluster.secret=<the same value on every node>
+ */
+@Component
+public class ClusterMembership {
+
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final TableRegistry tables;
+    private final String self;
+    private final int virtualNodes;
+    private final String secret;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    // One membership change at a time; only the newest pending list matters, so an older queued one is dropped.
+    private final ThreadPoolExecutor membershipWork = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            r -> {
+                Thread t = new Thread(r, "cluster-membership");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.DiscardOldestPolicy());
+
+    private volatile ShardRing ring;
+
+    public ClusterMembership(TableRegistry tables,
+                             @Value("${pusoy.cluster.self:http://localhost:8080}") String self,
+                             @Value("${pusoy.cluster.nodes:}") String nodes,
+                             @Value("${pusoy.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${pusoy.cluster.secret:}") String secret) {
+        this.tables = tables;
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.secret = secret;
+        this.ring = new ShardRing(withSelf(parse(nodes)), virtualNodes);
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public List<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    public String ownerOf(String tableId) {
+        return ring.ownerOf(tableId);
+    }
+
+    /**
+     * The node to redirect a request for tableId to, or null to serve it here. A table still in the local
+     * registry is served here even when the ring already assigns it elsewhere (its handoff failed and is
+     * retried on the next membership change); once handed off it redirects to the node that received it.
+     */
+    public String redirectFor(String tableId) {
+        if (TableRegistry.DEFAULT_TABLE.equals(tableId)) return null;
+        TableActor table = tables.get(tableId);
+        if (table != null) return table.movedTo();
+        String owner = ring.ownerOf(tableId);
+        return self.equals(owner) ? null : owner;
+    }
+
+    // A fresh table id that hashes to this node, so tables are created where they will live.
+    public String newLocalTableId() {
+        while (true) {
+            String id = UUID.randomUUID().toString();
+            if (self.equals(ring.ownerOf(id))) return id;
+        }
+    }
+
+    // Node-to-node calls must present the shared secret; with none configured every one is refused.
+    public boolean authorized(String presented) {
+        return !secret.isEmpty() && presented != null
+                && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Queues a membership change on the membership thread and returns at once; the handoffs make blocking
+     * HTTP calls that must not hold a request thread. With propagate the list is then sent to the other nodes.
+     */
+    public void changeMembers(List<String> nodes, boolean propagate) {
+        List<String> members = normalizeAll(nodes);
+        membershipWork.execute(() -> {
+            try {
+                updateMembers(members);
+                if (propagate) broadcastMembers(members);
+            } catch (RuntimeException e) {
+                System.out.println("Membership change to " + members + " failed: " + e);
+            }
+        });
+    }
+
+    /**
+     * Hands off every local table the new member list assigns elsewhere, then installs the list. Each
+     * handoff is one command on the table's actor (encode, send, fence), so a set-hands queued meanwhile
+     * either lands before the encode and travels with the table or is refused with TableMovedException and
+     * redirected. The ring only switches once the handoffs are done; a table whose handoff failed stays
+     * here and is still served here. Runs on the membership thread only; returns the number of tables moved.
+     */
+    int updateMembers(List<String> nodes) {
+        ShardRing next = new ShardRing(withSelf(normalizeAll(nodes)), virtualNodes);
+
+        Map<TableActor, CompletableFuture<Boolean>> handoffs = new LinkedHashMap<>();
+        for (String tableId : new ArrayList<>(tables.tableIds())) {
+            if (TableRegistry.DEFAULT_TABLE.equals(tableId)) continue;
+            String owner = next.ownerOf(tableId);
+            TableActor table = tables.get(tableId);
+            if (self.equals(owner) || table == null || table.movedTo() != null) continue;
+            handoffs.put(table, table.moveTo(owner, game -> handOff(owner, GameSnapshotCodec.encodeTable(tableId, game))));
+        }
+
+        List<TableActor> moved = new ArrayList<>();
+        handoffs.forEach((table, handoff) -> {
+            try {
+                if (handoff.join()) moved.add(table);
+            } catch (CompletionException e) {
+                System.out.println("Handoff of table " + table.getTableId() + " failed: " + e.getCause());
+            }
+        });
+
+        ring = next;
+        for (TableActor table : moved) {
+            tables.remove(table.getTableId(), table);
+        }
+        System.out.println("Cluster membership now " + next.getNodes() + "; handed off " + moved.size()
+                + " of " + handoffs.size() + " tables");
+        return moved.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        membershipWork.shutdownNow();
+    }
+
+    // Sends the member list to every other node without asking them to propagate further.
+    private void broadcastMembers(List<String> nodes) {
+        String body = String.join(",", nodes);
+        for (String node : ring.getNodes()) {
+            if (node.equals(self)) continue;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(node + "/cluster/members?propagate=false"))
+                        .timeout(Duration.ofSeconds(10))
+                        .header("Content-Type", "text/plain")
+                        .header(SECRET_HEADER, secret)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+                http.send(request, HttpResponse.BodyHandlers.discarding());
+            } catch (Exception e) {
+                System.out.println("Could not send membership to " + node + ": " + e);
+            }
+        }
+    }
+
+    private boolean handOff(String owner, byte[] record) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(owner + "/cluster/tables"))
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/octet-stream")
+                    .header(SECRET_HEADER, secret)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(record))
+                    .build();
+            return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+        } catch (Exception e) {
+            System.out.println("Handoff to " + owner + " failed: " + e);
+            return false;
+        }
+    }
+
+    private List<String> withSelf(List<String> nodes) {
+        Set<String> all = new LinkedHashSet<>(nodes);
+        all.add(self);
+        return new ArrayList<>(all);
+    }
+
+    private static List<String> parse(String nodes) {
+        return normalizeAll(Arrays.asList(nodes.split(",")));
+    }
+
+    private static List<String> normalizeAll(List<String> nodes) {
+        List<String> out = new ArrayList<>();
+        for (String n : nodes) {
+            if (n != null && !n.isBlank()) out.add(normalize(n));
+        }
+        return out;
+    }
+
+    private static String normalize(String url) {
+        String trimmed = url.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,198 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * EquityCalculator estimates how strong a submitted front/middle/back arrangement is against
+ * opponents dealt from the cards the seat has not seen.
+ *
+ * Per-row odds are exact: each row is compared with every 3- or 5-card hand the unseen cards can form.
+ * Overall odds (winning at least two of three rows against every opponent) need whole opponent
+ * arrangements, so they are sampled in parallel until the sample count or the time cap is reached.
+ * Sampled opponents play a random split of their 13 cards with the stronger five in the back, not the
+ * arrangement AIHandBuilder would pick (see EquityReport.OPPONENT_MODEL).
+ * All comparisons go through HandEvaluator strengths, which order hands exactly like compareHands.
+ *
+ * The time cap covers the whole calculation: enumeration stops at it too, and the row odds are then taken
+ * over the hands counted so far and reported as not exact.
+ */
+public class EquityCalculator {
+
+    public static final int MAX_OPPONENTS = 3;
+
+    // Samples are drawn in chunks of this many, each chunk with its own split of the random source.
+    private static final int CHUNK = 1024;
+
+    public static EquityReport calculate(List<Card> front, List<Card> middle, List<Card> back,
+                                         List<Card> unseen, int opponents, int samples, long timeCapMs) {
+        if (front.size() != 3 || middle.size() != 5 || back.size() != 5) {
+            throw new IllegalArgumentException("Rows must hold 3, 5 and 5 cards.");
+        }
+        if (opponents < 1 || opponents > MAX_OPPONENTS || unseen.size() < opponents * 13) {
+            throw new IllegalArgumentException("Not enough unseen cards for " + opponents + " opponents.");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeCapMs * 1_000_000L;
+        Card[] pool = unseen.toArray(new Card[0]);
+
+        int frontStrength = HandEvaluator.evaluateStrength(front);
+        int middleStrength = HandEvaluator.evaluateStrength(middle);
+        int backStrength = HandEvaluator.evaluateStrength(back);
+
+        AtomicBoolean expired = new AtomicBoolean();
+        long[] frontOdds = exactRow(frontStrength, pool, 3, deadline, expired);
+        long[] middleOdds = exactRow(middleStrength, pool, 5, deadline, expired);
+        long[] backOdds = exactRow(backStrength, pool, 5, deadline, expired);
+        boolean rowsExact = !expired.get();
+
+        long[] overall = sampleOverall(frontStrength, middleStrength, backStrength, pool, opponents, samples, deadline,
+                expired);
+
+        return new EquityReport(
+                ratio(frontOdds[0], frontOdds[2]), ratio(frontOdds[1], frontOdds[2]),
+                ratio(middleOdds[0], middleOdds[2]), ratio(middleOdds[1], middleOdds[2]),
+                ratio(backOdds[0], backOdds[2]), ratio(backOdds[1], backOdds[2]),
+                ratio(overall[0], overall[1]), opponents, overall[1], rowsExact,
+                (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /** Cards of a 52-card deck that are not in the given seat's dealt hand. */
+    public static List<Card> unseenBy(List<Card> seen) {
+        List<Card> unseen = new ArrayList<>(39);
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(suit, rank);
+                if (!seen.contains(card)) unseen.add(card);
+            }
+        }
+        return unseen;
+    }
+
+    // ---------- exact per-row enumeration ----------
+
+    // Returns {wins, ties, total} of hero against every size-card hand drawn from pool, or against the ones
+    // counted before the deadline.
+    private static long[] exactRow(int heroStrength, Card[] pool, int size, long deadline, AtomicBoolean expired) {
+        return IntStream.range(0, pool.length - size + 1).parallel()
+                .mapToObj(first -> {
+                    long[] acc = new long[3];
+                    RowCounts counts = new RowCounts();
+                    counts.add(pool[first]);
+                    enumerate(heroStrength, pool, first + 1, size - 1, size, counts, acc, deadline, expired);
+                    return acc;
+                })
+                .reduce(new long[3], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
+    }
+
+    private static void enumerate(int heroStrength, Card[] pool, int from, int remaining, int size,
+                                  RowCounts counts, long[] acc, long deadline, AtomicBoolean expired) {
+        // Checked once per card choice one level above the leaves, i.e. every few dozen hands.
+        if (remaining == 1 && (expired.get() || System.nanoTime() > deadline)) {
+            expired.set(true);
+            return;
+        }
+        if (remaining == 0) {
+            int villain = counts.strength(size);
+            if (heroStrength > villain) acc[0]++;
+            else if (heroStrength == villain) acc[1]++;
+            acc[2]++;
+            return;
+        }
+        for (int i = from; i <= pool.length - remaining; i++) {
+            counts.add(pool[i]);
+            enumerate(heroStrength, pool, i + 1, remaining - 1, size, counts, acc, deadline, expired);
+            counts.remove(pool[i]);
+        }
+    }
+
+    // ---------- sampled overall equity ----------
+
+    // Returns {rounds won against every opponent, rounds sampled}.
+    private static long[] sampleOverall(int frontStrength, int middleStrength, int backStrength, Card[] pool,
+                                        int opponents, int samples, long deadline, AtomicBoolean expired) {
+        int chunks = Math.max(1, (samples + CHUNK - 1) / CHUNK);
+        SplittableRandom root = new SplittableRandom();
+        SplittableRandom[] seeds = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) seeds[i] = root.split();
+
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long[] acc = new long[2];
+                    int todo = Math.min(CHUNK, samples - chunk * CHUNK);
+                    SplittableRandom random = seeds[chunk];
+                    Card[] deck = pool.clone();
+                    RowCounts counts = new RowCounts();
+                    for (int s = 0; s < todo; s++) {
+                        if ((s & 63) == 0 && (expired.get() || System.nanoTime() > deadline)) {
+                            expired.set(true);
+                            break;
+                        }
+                        // Partial Fisher-Yates: the first opponents * 13 slots become the opponents' cards.
+                        for (int i = 0; i < opponents * 13; i++) {
+                            int j = i + random.nextInt(deck.length - i);
+                            Card tmp = deck[i];
+                            deck[i] = deck[j];
+                            deck[j] = tmp;
+                        }
+                        boolean beatsAll = true;
+                        for (int o = 0; o < opponents && beatsAll; o++) {
+                            int base = o * 13;
+                            int five1 = counts.strengthOf(deck, base, 5);
+                            int five2 = counts.strengthOf(deck, base + 5, 5);
+                            int oppFront = counts.strengthOf(deck, base + 10, 3);
+                            int oppBack = Math.max(five1, five2);
+                            int oppMiddle = Math.min(five1, five2);
+                            int rowsWon = (frontStrength > oppFront ? 1 : 0)
+                                    + (middleStrength > oppMiddle ? 1 : 0)
+                                    + (backStrength > oppBack ? 1 : 0);
+                            beatsAll = rowsWon >= 2;
+                        }
+                        if (beatsAll) acc[0]++;
+                        acc[1]++;
+                    }
+                    return acc;
+                })
+                .reduce(new long[2], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+    }
+
+    private static double ratio(long part, long total) {
+        return total == 0 ? 0.0 : (double) part / total;
+    }
+
+    // Incrementally maintained rank/suit histogram, so enumeration never rebuilds Hand objects.
+    private static final class RowCounts {
+        private final int[] ranks = new int[15];
+        private final int[] suits = new int[4];
+        private int rankMask;
+
+        void add(Card c) {
+            int v = c.getRank().getValue();
+            if (ranks[v]++ == 0) rankMask |= 1 << v;
+            suits[c.getSuit().ordinal()]++;
+        }
+
+        void remove(Card c) {
+            int v = c.getRank().getValue();
+            if (--ranks[v] == 0) rankMask &= ~(1 << v);
+            suits[c.getSuit().ordinal()]--;
+        }
+
+        int strength(int size) {
+            boolean flush = false;
+            for (int s : suits) if (s == size) flush = true;
+            return HandEvaluator.strengthFromCounts(ranks, rankMask, flush, size);
+        }
+
+        int strengthOf(Card[] deck, int from, int size) {
+            for (int i = from; i < from + size; i++) add(deck[i]);
+            int strength = strength(size);
+            for (int i = from; i < from + size; i++) remove(deck[i]);
+            return strength;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.pusoygame.pusoybackend;
+
+/**
+ * Result of EquityCalculator: exact per-row win/tie probabilities and the sampled probability of
+ * winning at least two rows against every opponent.
+ */
+public class EquityReport {
+
+    // How sampled opponents arrange their cards; overallWin is only as good as this model.
+    public static final String OPPONENT_MODEL = "RANDOM_SPLIT_STRONGER_FIVE_BACK";
+
+    private final double frontWin;
+    private final double frontTie;
+    private final double middleWin;
+    private final double middleTie;
+    private final double backWin;
+    private final double backTie;
+    private final double overallWin;
+    private final int opponents;
+    private final long samples;
+    private final boolean rowsExact;
+    private final long elapsedMs;
+
+    public EquityReport(double frontWin, double frontTie, double middleWin, double middleTie,
+                        double backWin, double backTie, double overallWin,
+                        int opponents, long samples, boolean rowsExact, long elapsedMs) {
+        this.frontWin = frontWin;
+        this.frontTie = frontTie;
+        this.middleWin = middleWin;
+        this.middleTie = middleTie;
+        this.backWin = backWin;
+        this.backTie = backTie;
+        this.overallWin = overallWin;
+        this.opponents = opponents;
+        this.samples = samples;
+        this.rowsExact = rowsExact;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public double getFrontWin() {
+        return frontWin;
+    }
+
+    public double getFrontTie() {
+        return frontTie;
+    }
+
+    public double getMiddleWin() {
+        return middleWin;
+    }
+
+    public double getMiddleTie() {
+        return middleTie;
+    }
+
+    public double getBackWin() {
+        return backWin;
+    }
+
+    public double getBackTie() {
+        return backTie;
+    }
+
+    public double getOverallWin() {
+        return overallWin;
+    }
+
+    public int getOpponents() {
+        return opponents;
+    }
+
+    // Number of sampled rounds behind overallWin; lower than requested when the time cap was hit.
+    public long getSamples() {
+        return samples;
+    }
+
+    // False when the time cap cut the row enumeration short; the row odds then cover only the hands counted.
+    public boolean isRowsExact() {
+        return rowsExact;
+    }
+
+    // Opponents are not modelled as the AI would play them: a random split, stronger five in the back.
+    public String getOpponentModel() {
+        return OPPONENT_MODEL;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+}
@@ -3,7 +3,11 @@ package com.pusoygame.pusoybackend;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Game orchestrates dealing and AI hand setup using AIHandBuilder and AutoWinChecker.
@@ -11,42 +15,198 @@ import java.util.List;
  */
 public class Game {
 
-    private List<Card> deck;
+    public enum Phase {
+        DEALT,
+        SHOWDOWN
+    }
+
+    // Undealt cards as a card mask (bit Card.getIndex() per card); see Player for the seats' packing.
+    private final long deck;
     private List<Player> players;
     private int currentPlayerIndex;
+    private volatile Phase phase;
+    // Net points per seat for the finished round, in seat order; null until scored.
+    private volatile int[] scores;
+    // Every pairwise result of the showdown; null until scored, and not kept in table snapshots.
+    private volatile ShowdownMatrix results;
+    // Post-round RegretAnalyzer reports by player id, attached through the table's actor once ready.
+    private volatile Map<String, RegretReport> regret = Map.of();
+
+    public static final int SEATS = 4;
+
+    // Suggestions only depend on the dealt cards, so each seat's list is computed once per deal.
+    public static final int MAX_SUGGESTIONS = 10;
+    private final Map<String, List<ArrangementSuggestion>> suggestionCache;
 
     public Game(List<Player> players) {
+        this(players, null);
+    }
+
+    // Deals from a deck shuffled by the given source, or by Collections.shuffle's default when null.
+    Game(List<Player> players, Random random) {
+        GameEvents.DealEvent event = new GameEvents.DealEvent();
+        event.begin();
         this.players = players;
-        this.deck = new ArrayList<>();
-        initializeDeck();
-        shuffleDeck();
+        this.suggestionCache = new ConcurrentHashMap<>();
+        List<Card> cards = newDeck();
+        shuffleDeck(cards, random);
         this.currentPlayerIndex = 0;
-        dealCards();
+        dealCards(cards);
+        this.deck = Hand.maskOf(cards);
+        this.phase = Phase.DEALT;
+        event.end();
+        if (event.shouldCommit()) {
+            event.seats = players.size();
+            event.seatCards = GameEvents.seatMasks(players);
+            event.commit();
+        }
+        declareAutoWins();
     }
 
-    private void initializeDeck() {
-        for (Suit suit : Suit.values()) {
-            for (Rank rank : Rank.values()) {
-                deck.add(new Card(suit, rank));
+    // Rebuilds a game from a snapshot: players already hold their cards, nothing is dealt.
+    Game(List<Player> players, List<Card> deck, Phase phase) {
+        this.players = players;
+        this.deck = Hand.maskOf(deck);
+        this.currentPlayerIndex = 0;
+        this.phase = phase;
+        this.suggestionCache = new ConcurrentHashMap<>();
+    }
+
+    // Published copy for TableActor views: unmodifiable card and seat lists. The suggestion cache is shared
+    // because it only depends on the dealt cards.
+    private Game(Game source) {
+        this(source, false, null);
+    }
+
+    // With redact set, every seat but viewerId's is a redacted copy and the undealt deck is hidden.
+    private Game(Game source, boolean redact, String viewerId) {
+        List<Player> seats = new ArrayList<>(source.players.size());
+        for (Player p : source.players) {
+            seats.add(!redact || p.getId().equals(viewerId) ? p.copy() : p.redacted());
+        }
+        this.players = List.copyOf(seats);
+        this.deck = redact ? 0L : source.deck;
+        this.currentPlayerIndex = source.currentPlayerIndex;
+        this.phase = source.phase;
+        this.scores = source.scores;
+        this.results = source.results;
+        this.regret = source.regret;
+        this.suggestionCache = source.suggestionCache;
+    }
+
+    Game copy() {
+        return new Game(this);
+    }
+
+    // The table as one seat may see it before the showdown: its own cards, and only whether the others submitted.
+    Game redactedFor(String viewerId) {
+        return new Game(this, true, viewerId);
+    }
+
+    /**
+     * Seats the given humans first and fills the remaining seats with AI players ("AI 1", "AI 2", ...),
+     * whose hands are set before the game is returned.
+     */
+    public static Game withAIBackfill(List<String> humanNames, int seats) {
+        Game game = dealWithAIBackfill(humanNames, seats);
+        game.arrangeAISeats();
+        return game;
+    }
+
+    // Same seating as withAIBackfill, but leaves AI hands unset so the caller decides where the search runs.
+    public static Game dealWithAIBackfill(List<String> humanNames, int seats) {
+        return dealWithAIBackfill(humanNames, seats, null);
+    }
+
+    static Game dealWithAIBackfill(List<String> humanNames, int seats, Random random) {
+        List<Player> players = new ArrayList<>();
+        for (String name : humanNames) players.add(new Player(name));
+        for (int i = 1; players.size() < seats; i++) players.add(new Player("AI " + i, true));
+        return new Game(players, random);
+    }
+
+    // Seats humans first in a pre-dealt all-AI game (see GamePool) and renumbers the AI seats after them,
+    // matching dealWithAIBackfill's seating.
+    void seatHumans(List<String> humanNames) {
+        for (int i = 0; i < players.size(); i++) {
+            boolean human = i < humanNames.size();
+            players.get(i).reseat(human ? humanNames.get(i) : "AI " + (i - humanNames.size() + 1), !human);
+        }
+    }
+
+    public void arrangeAISeats() {
+        for (Player p : players) {
+            if (p.isAi()) setAIHands(p);
+        }
+    }
+
+    // Cheap arrangement for every AI seat, used when the AI search is shed under load.
+    public void arrangeAISeatsSorted() {
+        for (Player p : players) {
+            if (p.isAi() && !hasDeclaredAutoWin(p)) applySortedSplit(p);
+        }
+    }
+
+    /**
+     * Any seat dealt an auto-win declares it at once: its rows are the split the detector found, and
+     * neither the AI search nor a human submission is needed for it. The split goes through the same foul
+     * check as any other arrangement; one that fails it is not declared and the seat plays normally.
+     */
+    private void declareAutoWins() {
+        for (Player p : players) {
+            AutoWinChecker.AutoWin aw = AutoWinChecker.findAutoWin(p.getHand().getCards());
+            if (aw.type() == AutoWinChecker.AutoWinType.NONE) continue;
+            Partition split = aw.arrangement();
+            Hand front = new Hand(split.front);
+            Hand middle = new Hand(split.middle);
+            Hand back = new Hand(split.back);
+            if (checkFoul(front, middle, back)) {
+                System.out.println(p.getName() + " cannot declare " + aw.type() + ": its split fouls");
+                continue;
             }
+            p.setAutoWin(aw.type());
+            p.setHands(front, middle, back);
+            System.out.println(p.getName() + " declares auto-win: " + aw.type());
         }
     }
 
-    private void shuffleDeck() {
-        Collections.shuffle(deck);
+    // Rows are stored as card masks, which would silently merge a repeated card, so a split must be 3, 5 and 5
+    // distinct cards that together are exactly the seat's dealt hand.
+    private static boolean isSplitOfDealtHand(Player player, Hand front, Hand middle, Hand back) {
+        if (player == null || front == null || middle == null || back == null) return false;
+        List<Card> f = front.getCards();
+        List<Card> m = middle.getCards();
+        List<Card> b = back.getCards();
+        if (f == null || m == null || b == null || f.size() != 3 || m.size() != 5 || b.size() != 5) return false;
+        long mask = Hand.maskOf(f) | Hand.maskOf(m) | Hand.maskOf(b);
+        return Long.bitCount(mask) == 13 && mask == player.handMask();
     }
 
-    private void dealCards() {
-        for (Player player : players) {
-            List<Card> playerCardList = new ArrayList<>();
-            for (int i = 0; i < 13; i++) playerCardList.add(deck.remove(0));
-            player.setHand(new Hand(playerCardList));
+    private static boolean hasDeclaredAutoWin(Player p) {
+        return p.getAutoWin() != AutoWinChecker.AutoWinType.NONE && p.getBackHand() != null;
+    }
+
+    private static List<Card> newDeck() {
+        List<Card> cards = new ArrayList<>(52);
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                cards.add(new Card(suit, rank));
+            }
         }
+        return cards;
+    }
+
+    private static void shuffleDeck(List<Card> cards, Random random) {
+        if (random != null) Collections.shuffle(cards, random);
+        else Collections.shuffle(cards);
     }
 
-    public void sortPlayerHand(Player player) {
-        if (player != null && player.getHand() != null) {
-            Collections.sort(player.getHand().getCards(), Comparator.comparingInt(card -> card.getRank().getValue()));
+    // Deals 13 cards to each seat from the top of the shuffled deck, leaving the rest in it.
+    private void dealCards(List<Card> cards) {
+        for (Player player : players) {
+            List<Card> top = cards.subList(0, 13);
+            player.setHand(new Hand(top));
+            top.clear();
         }
     }
 
@@ -56,8 +216,13 @@ public class Game {
         return !(backIsStrongerThanMiddle && middleIsStrongerThanFront);
     }
 
+    /**
+     * Sets a seat's rows if they are a legal split of its dealt cards. Rows are only taken while the round is
+     * DEALT, and never over a declared auto-win, so a resubmission cannot re-score a settled round.
+     */
     public boolean setPlayerHands(Player player, Hand front, Hand middle, Hand back) {
-        if (checkFoul(front, middle, back)) return false;
+        if (phase != Phase.DEALT || player == null || hasDeclaredAutoWin(player)) return false;
+        if (!isSplitOfDealtHand(player, front, middle, back) || checkFoul(front, middle, back)) return false;
         player.setHands(front, middle, back);
         return true;
     }
@@ -68,23 +233,16 @@ public class Game {
             return;
         }
 
-        AutoWinChecker.AutoWinType aw = AutoWinChecker.detectAutoWin(player.getHand().getCards());
-        if (aw != AutoWinChecker.AutoWinType.NONE) {
-            System.out.println(player.getName() + " has auto-win: " + aw);
-            // special handling can be added here
+        if (hasDeclaredAutoWin(player)) {
+            System.out.println(player.getName() + " (AI) keeps its declared " + player.getAutoWin() + "; search skipped.");
+            return;
         }
 
         Partition p = AIHandBuilder.buildBestPartition(player.getHand().getCards());
         if (p != null) {
             boolean ok = setPlayerHands(player, new Hand(p.front), new Hand(p.middle), new Hand(p.back));
             if (!ok) {
-                List<Card> pool = new ArrayList<>(player.getHand().getCards());
-                pool.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
-                Hand backHand = new Hand(new ArrayList<>(pool.subList(8, 13)));
-                List<Card> pool8 = subtract(pool, backHand.getCards());
-                Hand middleHand = new Hand(new ArrayList<>(pool8.subList(3, 8)));
-                List<Card> frontCards = subtract(pool8, middleHand.getCards());
-                setPlayerHands(player, new Hand(frontCards), middleHand, backHand);
+                applySortedSplit(player);
                 System.out.println(player.getName() + " AI fallback split applied.");
             } else {
                 System.out.println(player.getName() + " (AI) set hands: BACK=" + new Hand(p.back)
@@ -93,41 +251,113 @@ public class Game {
             return;
         }
 
+        applySortedSplit(player);
+        System.out.println(player.getName() + " (AI) naive split applied.");
+    }
+
+    /**
+     * Highest five by rank and next five form the fives, lowest three the front. The highest five can still be
+     * the weaker hand (A K Q J 9 against 8 8 7 7 6), so the stronger one goes to the back, as AutoWinChecker
+     * orients its splits. Fives cut from a rank-sorted pool never tie and any five beats the front, so this
+     * split never fouls.
+     */
+    public void applySortedSplit(Player player) {
         List<Card> pool = new ArrayList<>(player.getHand().getCards());
         pool.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
-        Hand backHand = new Hand(new ArrayList<>(pool.subList(8, 13)));
-        List<Card> pool8 = subtract(pool, backHand.getCards());
-        Hand middleHand = new Hand(new ArrayList<>(pool8.subList(3, 8)));
-        List<Card> frontCards = subtract(pool8, middleHand.getCards());
-        setPlayerHands(player, new Hand(frontCards), middleHand, backHand);
-        System.out.println(player.getName() + " (AI) naive split applied.");
+        List<Card> high = new ArrayList<>(pool.subList(8, 13));
+        List<Card> pool8 = subtract(pool, high);
+        List<Card> low = new ArrayList<>(pool8.subList(3, 8));
+        List<Card> frontCards = subtract(pool8, low);
+        boolean highIsStronger = HandEvaluator.evaluateStrength(high) > HandEvaluator.evaluateStrength(low);
+        Hand backHand = new Hand(highIsStronger ? high : low);
+        Hand middleHand = new Hand(highIsStronger ? low : high);
+        if (!setPlayerHands(player, new Hand(frontCards), middleHand, backHand)) {
+            System.out.println(player.getName() + " sorted split rejected: BACK=" + backHand + ", MIDDLE=" + middleHand);
+        }
+    }
+
+    public Player findPlayer(String playerId) {
+        if (playerId == null) return null;
+        for (Player p : players) {
+            if (p.getId().equals(playerId)) return p;
+        }
+        return null;
+    }
+
+    // True once every seat has set its front, middle and back hands.
+    public boolean allHandsSet() {
+        for (Player p : players) {
+            if (p.getBackHand() == null) return false;
+        }
+        return true;
     }
 
-    public void compareAllPlayerHands() {
+    public List<ArrangementSuggestion> suggestArrangements(Player player, int k) {
+        if (player == null || player.getHand() == null || k <= 0) return List.of();
+        List<ArrangementSuggestion> best = suggestionCache.computeIfAbsent(player.getId(),
+                id -> AIHandBuilder.topArrangements(player.getHand().getCards(), MAX_SUGGESTIONS));
+        return best.subList(0, Math.min(k, best.size()));
+    }
+
+    /**
+     * Runs the showdown right away when no seat has anything left to set, e.g. when every human was dealt
+     * an auto-win. Returns true if the round was settled.
+     */
+    public boolean settleIfDecided(ScoringEngine scoring) {
+        if (phase != Phase.DEALT || !allHandsSet()) return false;
+        showdown(scoring);
+        return true;
+    }
+
+    // Runs the all-pairs showdown and records the result matrix and every seat's net points.
+    public void showdown(ScoringEngine scoring) {
+        GameEvents.ShowdownEvent event = new GameEvents.ShowdownEvent();
+        event.begin();
+        ShowdownMatrix matrix = scoring.settleAll(this);
+        logShowdown(matrix);
+        results = matrix;
+        scores = matrix.getNetPoints();
+        phase = Phase.SHOWDOWN;
+        event.end();
+        if (event.shouldCommit()) {
+            event.seats = players.size();
+            event.seatCards = GameEvents.seatMasks(players);
+            event.commit();
+        }
+    }
+
+    private void logShowdown(ShowdownMatrix matrix) {
         System.out.println("\n--- Starting the Showdown ---");
-        Player humanPlayer = players.get(0);
-        for (int i = 1; i < players.size(); i++) {
-            Player aiPlayer = players.get(i);
-            if (humanPlayer.getBackHand() != null && aiPlayer.getBackHand() != null) {
-                System.out.println("Comparing hands for " + humanPlayer.getName() + " vs " + aiPlayer.getName() + ":");
-                int frontComparison = HandEvaluator.compareHands(humanPlayer.getFrontHand(), aiPlayer.getFrontHand());
-                if (frontComparison > 0) System.out.println("- " + humanPlayer.getName() + "'s front hand wins!");
-                else if (frontComparison < 0) System.out.println("- " + aiPlayer.getName() + "'s front hand wins!");
-                else System.out.println("- Front hands are a tie!");
-
-                int middleComparison = HandEvaluator.compareHands(humanPlayer.getMiddleHand(), aiPlayer.getMiddleHand());
-                if (middleComparison > 0) System.out.println("- " + humanPlayer.getName() + "'s middle hand wins!");
-                else if (middleComparison < 0) System.out.println("- " + aiPlayer.getName() + "'s middle hand wins!");
-                else System.out.println("- Middle hands are a tie!");
-
-                int backComparison = HandEvaluator.compareHands(humanPlayer.getBackHand(), aiPlayer.getBackHand());
-                if (backComparison > 0) System.out.println("- " + humanPlayer.getName() + "'s back hand wins!");
-                else if (backComparison < 0) System.out.println("- " + aiPlayer.getName() + "'s back hand wins!");
-                else System.out.println("- Back hands are a tie!");
+        for (int i = 0; i < players.size(); i++) {
+            for (int j = i + 1; j < players.size(); j++) {
+                Player a = players.get(i);
+                Player b = players.get(j);
+                if (matrix.getSettledByAutoWin()[i][j]) {
+                    // Settled by ScoringEngine from the auto-wins alone; the rows are not compared.
+                    System.out.println(a.getName() + " (" + a.getAutoWin() + ") vs "
+                            + b.getName() + " (" + b.getAutoWin() + "): settled by auto-win");
+                    continue;
+                }
+                System.out.println("Comparing hands for " + a.getName() + " vs " + b.getName() + ":");
+                if (matrix.getFouled()[i] || matrix.getFouled()[j]) {
+                    for (int k : new int[]{i, j}) {
+                        if (matrix.getFouled()[k]) System.out.println("- " + players.get(k).getName() + " fouled!");
+                    }
+                    continue;
+                }
+                logRow("front", matrix.getFront()[i][j], a, b);
+                logRow("middle", matrix.getMiddle()[i][j], a, b);
+                logRow("back", matrix.getBack()[i][j], a, b);
             }
         }
     }
 
+    private static void logRow(String row, int outcome, Player a, Player b) {
+        if (outcome > 0) System.out.println("- " + a.getName() + "'s " + row + " hand wins!");
+        else if (outcome < 0) System.out.println("- " + b.getName() + "'s " + row + " hand wins!");
+        else System.out.println("- " + Character.toUpperCase(row.charAt(0)) + row.substring(1) + " hands are a tie!");
+    }
+
     private List<Card> subtract(List<Card> from, List<Card> toRemove) {
         List<Card> result = new ArrayList<>(from);
         for (Card r : toRemove) {
@@ -142,5 +372,27 @@ public class Game {
     }
 
     public List<Player> getPlayers() { return players; }
-    public List<Card> getDeck() { return deck; }
+    public List<Card> getDeck() { return Hand.cardsOf(deck); }
+    public Phase getPhase() { return phase; }
+
+    int[] scoresBySeat() { return scores; }
+    void restoreScores(int[] scores) { this.scores = scores; }
+
+    public ShowdownMatrix getShowdown() { return results; }
+
+    void attachRegret(RegretReport report) {
+        Map<String, RegretReport> next = new LinkedHashMap<>(regret);
+        next.put(report.getPlayerId(), report);
+        regret = Collections.unmodifiableMap(next);
+    }
+
+    public Map<String, RegretReport> getRegret() { return regret; }
+
+    public Map<String, Integer> getScores() {
+        int[] s = scores;
+        if (s == null) return null;
+        Map<String, Integer> byPlayer = new LinkedHashMap<>();
+        for (int i = 0; i < players.size(); i++) byPlayer.put(players.get(i).getId(), s[i]);
+        return byPlayer;
+    }
 }
@@ -0,0 +1,104 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events for the game's hot paths, for continuous profiling in production, e.g.
+ *
+ *   java -XX:StartFlightRecording=filename=pusoy.jfr,settings=profile -jar ...
+ *   jfr print --categories Pusoy pusoy.jfr
+ *
+ * Cards are carried as a 52-bit mask (bit Card.getIndex()), so a slow deal can be replayed exactly.
+ * Fields are only filled in when the event will be committed, so a disabled event costs next to nothing.
+ */
+public class GameEvents {
+
+    private GameEvents() {
+    }
+
+    public static long cardMask(List<Card> cards) {
+        return Hand.maskOf(cards);
+    }
+
+    // Seat masks in seat order as hex, space separated; JFR fields cannot be arrays.
+    static String seatMasks(List<Player> players) {
+        StringBuilder sb = new StringBuilder();
+        for (Player p : players) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(p.handMask() != 0 ? Long.toHexString(p.handMask()) : "-");
+        }
+        return sb.toString();
+    }
+
+    @Name("pusoy.Deal")
+    @Label("Deal")
+    @Category("Pusoy")
+    @Description("Deck built, shuffled and dealt by the Game constructor")
+    @StackTrace(false)
+    static final class DealEvent extends Event {
+        @Label("Seats")
+        int seats;
+
+        @Label("Seat Card Masks")
+        String seatCards;
+    }
+
+    @Name("pusoy.AutoWinCheck")
+    @Label("Auto-Win Check")
+    @Category("Pusoy")
+    @StackTrace(false)
+    static final class AutoWinEvent extends Event {
+        @Label("Card Mask")
+        long cards;
+
+        @Label("Result")
+        String result;
+    }
+
+    @Name("pusoy.PartitionPhase")
+    @Label("Partition Search Phase")
+    @Category("Pusoy")
+    @Description("One phase of AIHandBuilder.buildBestPartition: enumeration (with normalization) or sort")
+    @StackTrace(false)
+    static final class PartitionPhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Card Mask")
+        long cards;
+
+        @Label("Back Candidates")
+        int backCandidates;
+
+        @Label("Partition Candidates")
+        int candidates;
+
+        @Label("Normalize Calls")
+        long normalizeCalls;
+
+        @Label("Normalize Time")
+        @Description("Summed across worker threads, so it can exceed the phase duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long normalizeTime;
+    }
+
+    @Name("pusoy.Showdown")
+    @Label("Showdown")
+    @Category("Pusoy")
+    @StackTrace(false)
+    static final class ShowdownEvent extends Event {
+        @Label("Seats")
+        int seats;
+
+        @Label("Seat Card Masks")
+        String seatCards;
+    }
+}
@@ -0,0 +1,139 @@
+package com.pusoygame.pusoybackend;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ready-to-play games for new tables: dealt, auto-wins declared and every seat arranged by the AI search.
+ * Taking one seats the given humans in the first seats (clearing the AI rows they would otherwise have
+ * inherited), so a new table costs a queue poll instead of a deal and three searches.
+ *
+ * One background thread keeps the pool at target-size, but only builds a game while the machine's CPU load
+ * is below max-cpu-load, so refilling yields to live traffic and catches up once a spike has passed. The
+ * searches go through AiWorkQueue with REJECT, like any other speculative work: they take an AI slot only
+ * when one is free and are never degraded to the sorted split. A failed build is counted and retried after a
+ * backoff that doubles up to max-backoff-ms. It starts when the application is ready, after the JIT warm-up.
+ * target-size=0 turns the pool off.
+ *
+ * Metrics: pusoy.pool.size, pusoy.pool.hits, pusoy.pool.misses and pusoy.pool.refill-failures.
+ */
+@Component
+public class GamePool {
+
+    private final ScoringEngine scoring;
+    private final AiWorkQueue aiWork;
+    private final ConcurrentLinkedQueue<Game> ready = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the queue, so the size is tracked separately.
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refillFailures;
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private volatile Thread refiller;
+
+    @Value("${pusoy.pool.target-size:8}")
+    private int targetSize;
+
+    @Value("${pusoy.pool.max-cpu-load:0.75}")
+    private double maxCpuLoad;
+
+    @Value("${pusoy.pool.idle-check-ms:250}")
+    private long idleCheckMs;
+
+    @Value("${pusoy.pool.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+
+    public GamePool(ScoringEngine scoring, AiWorkQueue aiWork, MeterRegistry meters) {
+        this.scoring = scoring;
+        this.aiWork = aiWork;
+        Gauge.builder("pusoy.pool.size", size, AtomicInteger::get).register(meters);
+        this.hits = Counter.builder("pusoy.pool.hits").register(meters);
+        this.misses = Counter.builder("pusoy.pool.misses").register(meters);
+        this.refillFailures = Counter.builder("pusoy.pool.refill-failures").register(meters);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRefilling() {
+        if (targetSize <= 0) return;
+        Thread t = new Thread(this::refill, "game-pool-refill");
+        t.setDaemon(true);
+        refiller = t;
+        t.start();
+    }
+
+    /**
+     * Hands out a pooled game with the given humans in the first seats and AI players in the rest, or null
+     * when the pool is empty. A round every human holds an auto-win for is already settled.
+     */
+    public Game take(List<String> humanNames) {
+        Game game = ready.poll();
+        if (game == null) {
+            misses.increment();
+            return null;
+        }
+        size.decrementAndGet();
+        hits.increment();
+        game.seatHumans(humanNames);
+        game.settleIfDecided(scoring);
+        return game;
+    }
+
+    private void refill() {
+        int failuresInRow = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long pauseMs = idleCheckMs;
+            if (size.get() < targetSize && cpuLoad() < maxCpuLoad) {
+                try {
+                    // Seats start as AI so every one is arranged; take() turns the first ones into humans.
+                    Game game = Game.dealWithAIBackfill(List.of(), Game.SEATS);
+                    aiWork.arrangeAISeats(game, AiWorkQueue.OverloadPolicy.REJECT);
+                    ready.add(game);
+                    size.incrementAndGet();
+                    failuresInRow = 0;
+                    continue;
+                } catch (RuntimeException e) {
+                    // AiOverloadedException when live traffic holds the AI slots, or a failed search.
+                    refillFailures.increment();
+                    failuresInRow = Math.min(failuresInRow + 1, 16);
+                    pauseMs = Math.min(idleCheckMs << failuresInRow, maxBackoffMs);
+                    System.out.println("Game pool refill failed, retrying in " + pauseMs + " ms: " + e);
+                }
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Recent CPU load of the whole machine in [0, 1]; the load average per core where that is not available.
+    private double cpuLoad() {
+        if (os instanceof com.sun.management.OperatingSystemMXBean hotspot) {
+            double load = hotspot.getCpuLoad();
+            if (load >= 0) return load;
+        }
+        double average = os.getSystemLoadAverage();
+        return average >= 0 ? average / os.getAvailableProcessors() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread t = refiller;
+        if (t != null) t.interrupt();
+    }
+}
@@ -0,0 +1,139 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of live tables for snapshots.
+ *
+ * Layout: MAGIC, VERSION, table count, then per table a length-prefixed record holding the table id,
+ * phase, remaining deck, each seat (id, name, AI flag, auto-win, dealt cards and, if set, front/middle/back)
+ * and, once scored, each seat's net points.
+ * Cards are written as one byte each using Card.getIndex().
+ */
+public class GameSnapshotCodec {
+
+    private static final int MAGIC = 0x50534e50; // "PSNP"
+    private static final byte VERSION = 2;
+
+    /**
+     * Encodes one table into a standalone record. Pass a published TableActor view, which never changes.
+     */
+    public static byte[] encodeTable(String tableId, Game game) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(tableId);
+            out.writeByte(game.getPhase().ordinal());
+            writeCards(out, game.getDeck());
+            List<Player> players = game.getPlayers();
+            out.writeByte(players.size());
+            for (Player p : players) {
+                out.writeUTF(p.getId());
+                out.writeUTF(p.getName());
+                out.writeBoolean(p.isAi());
+                out.writeByte(p.getAutoWin().ordinal());
+                writeCards(out, p.getHand().getCards());
+                Hand front = p.getFrontHand();
+                Hand middle = p.getMiddleHand();
+                Hand back = p.getBackHand();
+                boolean rowsSet = front != null && middle != null && back != null;
+                out.writeBoolean(rowsSet);
+                if (rowsSet) {
+                    writeCards(out, front.getCards());
+                    writeCards(out, middle.getCards());
+                    writeCards(out, back.getCards());
+                }
+            }
+            int[] scores = game.scoresBySeat();
+            out.writeBoolean(scores != null);
+            if (scores != null) {
+                for (int score : scores) out.writeInt(score);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void writeSnapshot(OutputStream target, List<byte[]> tableRecords) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(tableRecords.size());
+        for (byte[] record : tableRecords) {
+            out.writeInt(record.length);
+            out.write(record);
+        }
+        out.flush();
+    }
+
+    public static Map<String, Game> readSnapshot(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        if (in.readInt() != MAGIC) throw new IOException("Not a table snapshot");
+        byte version = in.readByte();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+
+        int count = in.readInt();
+        Map<String, Game> tables = new LinkedHashMap<>(count * 2);
+        for (int t = 0; t < count; t++) {
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            decodeTable(record, tables);
+        }
+        return tables;
+    }
+
+    // Decodes a record produced by encodeTable and adds it to the given map.
+    public static void decodeTable(byte[] record, Map<String, Game> into) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        String tableId = in.readUTF();
+        Game.Phase phase = Game.Phase.values()[in.readUnsignedByte()];
+        List<Card> deck = readCards(in);
+        int seats = in.readUnsignedByte();
+        List<Player> players = new ArrayList<>(seats);
+        for (int s = 0; s < seats; s++) {
+            Player p = new Player(in.readUTF(), in.readUTF(), in.readBoolean());
+            p.setAutoWin(AutoWinChecker.AutoWinType.values()[in.readUnsignedByte()]);
+            p.setHand(new Hand(readCards(in)));
+            if (in.readBoolean()) {
+                Hand front = new Hand(readCards(in));
+                Hand middle = new Hand(readCards(in));
+                Hand back = new Hand(readCards(in));
+                p.restoreHands(front, middle, back);
+            }
+            players.add(p);
+        }
+        Game game = new Game(players, deck, phase);
+        if (in.readBoolean()) {
+            int[] scores = new int[seats];
+            for (int s = 0; s < seats; s++) scores[s] = in.readInt();
+            game.restoreScores(scores);
+        }
+        into.put(tableId, game);
+    }
+
+    private static void writeCards(DataOutputStream out, List<Card> cards) throws IOException {
+        out.writeByte(cards.size());
+        for (Card c : cards) out.writeByte(c.getIndex());
+    }
+
+    private static List<Card> readCards(DataInput in) throws IOException {
+        int n = in.readUnsignedByte();
+        List<Card> cards = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) cards.add(Card.fromIndex(in.readUnsignedByte()));
+        return cards;
+    }
+}
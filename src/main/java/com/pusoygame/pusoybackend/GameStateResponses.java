@@ -0,0 +1,55 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional GET responses for a table's published view. Polls whose If-None-Match still names the current
+ * version get 304 without touching the game; otherwise the view's cached JSON bytes are sent with its ETag.
+ * no-cache makes browsers revalidate every poll instead of guessing a freshness lifetime.
+ */
+final class GameStateResponses {
+
+    private GameStateResponses() {
+    }
+
+    static ResponseEntity<byte[]> of(TableActor table, String ifNoneMatch, ObjectMapper mapper) {
+        TableActor.View view = table.view();
+        return respond(view.etag(), ifNoneMatch, () -> view.json(mapper));
+    }
+
+    // Same for one seat's redacted form of the table (see TableActor.View.jsonFor).
+    static ResponseEntity<byte[]> forViewer(TableActor table, String viewerId, String ifNoneMatch,
+                                            ObjectMapper mapper) {
+        TableActor.View view = table.view();
+        return respond(view.etagFor(viewerId), ifNoneMatch, () -> view.jsonFor(viewerId, mapper));
+    }
+
+    private static ResponseEntity<byte[]> respond(String etag, String ifNoneMatch, Supplier<byte[]> body) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.get());
+    }
+
+    // If-None-Match is "*" or a comma-separated list of tags, each possibly weak (W/"...").
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.pusoygame.pusoybackend;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -35,4 +36,18 @@ public class Hand {
         return this.cards.stream()
                 .collect(Collectors.groupingBy(card -> card.getRank().getValue(), Collectors.counting()));
     }
+
+    // Card mask with bit Card.getIndex() set for every card; repeated cards collapse into one bit.
+    static long maskOf(List<Card> cards) {
+        long mask = 0;
+        for (Card c : cards) mask |= 1L << c.getIndex();
+        return mask;
+    }
+
+    // The cards of a card mask in index order, i.e. by rank and then suit, as shared Card instances.
+    static List<Card> cardsOf(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        for (long m = mask; m != 0; m &= m - 1) cards.add(Card.fromIndex(Long.numberOfTrailingZeros(m)));
+        return cards;
+    }
 }
@@ -18,6 +18,8 @@ public class HandEvaluator {
         ROYAL_FLUSH
     }
 
+    private static final int WHEEL_MASK = (1 << 14) | (1 << 2) | (1 << 3) | (1 << 4) | (1 << 5);
+
     public static int compareHands(Hand hand1, Hand hand2) {
         if (hand1.getCards().size() > hand2.getCards().size()) {
             return 1;
@@ -138,16 +140,21 @@ public class HandEvaluator {
                 break;
 
             default:
-                List<Card> cards1 = hand1.getCards();
-                List<Card> cards2 = hand2.getCards();
-                for (int i = cards1.size() - 1; i >= 0; i--) {
-                    int cmp = Integer.compare(cards1.get(i).getRank().getValue(), cards2.get(i).getRank().getValue());
+                // Highest card first, whatever order the cards are listed in.
+                int[] ranks1 = sortedRanks(hand1);
+                int[] ranks2 = sortedRanks(hand2);
+                for (int i = ranks1.length - 1; i >= 0; i--) {
+                    int cmp = Integer.compare(ranks1[i], ranks2[i]);
                     if (cmp != 0) return cmp;
                 }
         }
         return 0;
     }
 
+    private static int[] sortedRanks(Hand hand) {
+        return hand.getCards().stream().mapToInt(c -> c.getRank().getValue()).sorted().toArray();
+    }
+
     private static List<Integer> getRankedRanks(Map<Integer, Long> counts) {
         List<Integer> result = new ArrayList<>();
         counts.entrySet().stream().filter(e -> e.getValue() == 4).map(Map.Entry::getKey).sorted(Comparator.reverseOrder()).forEach(result::add);
@@ -202,6 +209,95 @@ public class HandEvaluator {
         return suits.size() == 1;
     }
 
+    /**
+     * Collapses a 3- or 5-card hand into a single int that orders hands of the same size exactly like
+     * compareHands, for any card order: the HandRank ordinal sits above bit 20, the tie-break ranks fill the
+     * nibbles below it.
+     */
+    public static int evaluateStrength(Hand hand) {
+        return evaluateStrength(hand.getCards());
+    }
+
+    public static int evaluateStrength(List<Card> cards) {
+        return HandTables.strength(cards);
+    }
+
+    // Reference implementation of evaluateStrength, used to generate and verify HandTables.
+    static int computeStrength(List<Card> cards) {
+        int[] counts = new int[15];
+        int rankMask = 0;
+        boolean flush = true;
+        Suit suit = cards.get(0).getSuit();
+        for (Card c : cards) {
+            int v = c.getRank().getValue();
+            counts[v]++;
+            rankMask |= 1 << v;
+            if (c.getSuit() != suit) flush = false;
+        }
+        return strengthFromCounts(counts, rankMask, flush, cards.size());
+    }
+
+    // Shared by the per-hand and table-driven paths: counts[2..14] per rank, rankMask has bit v set per rank present.
+    static int strengthFromCounts(int[] counts, int rankMask, boolean flush, int size) {
+        if (size == 3) {
+            HandRank rank = HandRank.HIGH_CARD;
+            for (int r = 2; r <= 14; r++) {
+                if (counts[r] == 3) rank = HandRank.THREE_OF_A_KIND;
+                else if (counts[r] == 2) rank = HandRank.PAIR;
+            }
+            return (rank.ordinal() << 20) | groupedRanks(counts, 3);
+        }
+
+        int distinct = Integer.bitCount(rankMask);
+        boolean wheel = rankMask == WHEEL_MASK;
+        boolean straight = distinct == 5
+                && (wheel || rankMask >>> Integer.numberOfTrailingZeros(rankMask) == 0b11111);
+        int top = wheel ? 5 : 31 - Integer.numberOfLeadingZeros(rankMask);
+
+        // Mirrors evaluateFiveCardHand: a suited wheel has an Ace on top, so it lands in ROYAL_FLUSH.
+        if (straight && flush && (rankMask & (1 << 14)) != 0) {
+            return (HandRank.ROYAL_FLUSH.ordinal() << 20) | groupedRanks(counts, 5);
+        }
+        if (straight && flush) return (HandRank.STRAIGHT_FLUSH.ordinal() << 20) | (top << 16);
+
+        int quads = 0, trips = 0, pairs = 0;
+        for (int r = 2; r <= 14; r++) {
+            if (counts[r] == 4) quads++;
+            else if (counts[r] == 3) trips++;
+            else if (counts[r] == 2) pairs++;
+        }
+
+        HandRank rank;
+        if (quads > 0) rank = HandRank.FOUR_OF_A_KIND;
+        else if (trips > 0 && pairs > 0) rank = HandRank.FULL_HOUSE;
+        else if (flush) rank = HandRank.FLUSH;
+        else if (straight) return (HandRank.STRAIGHT.ordinal() << 20) | (top << 16);
+        else if (trips > 0) rank = HandRank.THREE_OF_A_KIND;
+        else if (pairs == 2) rank = HandRank.TWO_PAIR;
+        else if (pairs == 1) rank = HandRank.PAIR;
+        else rank = HandRank.HIGH_CARD;
+        return (rank.ordinal() << 20) | groupedRanks(counts, 5);
+    }
+
+    // Same ordering as getRankedRanks: larger groups first, higher ranks first within a group.
+    private static int groupedRanks(int[] counts, int size) {
+        int packed = 0;
+        int written = 0;
+        for (int group = 4; group >= 1; group--) {
+            for (int r = 14; r >= 2; r--) {
+                if (counts[r] == group) {
+                    packed = (packed << 4) | r;
+                    written++;
+                }
+            }
+        }
+        return packed << (4 * (5 - written));
+    }
+
+    public static HandRank categoryOf(int strength) {
+        return HandRank.values()[strength >>> 20];
+    }
+
     // Public wrapper for getting hand name
     public static String getHandName(Hand hand) {
         HandRank rank;
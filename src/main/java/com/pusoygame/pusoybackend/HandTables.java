@@ -0,0 +1,115 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Table-driven hand strengths, identical to HandEvaluator.strengthFromCounts but a few array reads per hand.
+ *
+ * 5-card hands with five distinct ranks are looked up by their 13-bit rank mask (FLUSH5 or UNIQUE5),
+ * everything else by the index of its rank multiset (MULTI5, MULTI3). The tables are generated at
+ * build time by HandTablesGenerator and loaded here with one bulk read.
+ */
+public class HandTables {
+
+    static final int MASKS = 1 << 13;
+    static final int MULTI5_SIZE = 6188; // C(17, 5): multisets of 5 ranks out of 13
+    static final int MULTI3_SIZE = 455;  // C(15, 3): multisets of 3 ranks out of 13
+
+    // C(n, k) for n < 18, k <= 5, for the combinatorial number system behind multisetIndex.
+    private static final int[][] CHOOSE = new int[18][6];
+    static {
+        for (int n = 0; n < 18; n++) {
+            CHOOSE[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, 5); k++) CHOOSE[n][k] = CHOOSE[n - 1][k - 1] + CHOOSE[n - 1][k];
+        }
+    }
+
+    static final int[] FLUSH5;
+    static final int[] UNIQUE5;
+    static final int[] MULTI5;
+    static final int[] MULTI3;
+
+    static {
+        int[][] tables = load(HandTablesGenerator.RESOURCE, HandTablesGenerator.MAGIC, HandTablesGenerator::compute);
+        FLUSH5 = tables[0];
+        UNIQUE5 = tables[1];
+        MULTI5 = tables[2];
+        MULTI3 = tables[3];
+    }
+
+    // Reads tables written by HandTablesGenerator.write, or computes them when the resource is missing or bad.
+    static int[][] load(String resource, int magic, Supplier<int[][]> fallback) {
+        try (InputStream in = HandTables.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in != null) {
+                IntBuffer ints = ByteBuffer.wrap(in.readAllBytes()).asIntBuffer();
+                if (ints.get() != magic) throw new IOException("bad magic");
+                int[][] tables = new int[ints.get()][];
+                for (int i = 0; i < tables.length; i++) tables[i] = new int[ints.get()];
+                for (int[] t : tables) ints.get(t);
+                return tables;
+            }
+            System.out.println("Resource " + resource + " missing, computing its tables instead");
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Resource " + resource + " unreadable, computing its tables instead: " + e);
+        }
+        return fallback.get();
+    }
+
+    // ranks must be non-decreasing rank indexes (value - 2).
+    static int multisetIndex(int[] ranks) {
+        int index = 0;
+        for (int i = 0; i < ranks.length; i++) index += CHOOSE[ranks[i] + i][i + 1];
+        return index;
+    }
+
+    public static int strength(List<Card> cards) {
+        return cards.size() == 5
+                ? strength5(cards.get(0).getIndex(), cards.get(1).getIndex(), cards.get(2).getIndex(),
+                        cards.get(3).getIndex(), cards.get(4).getIndex())
+                : strength3(cards.get(0).getIndex(), cards.get(1).getIndex(), cards.get(2).getIndex());
+    }
+
+    // Card indexes as in Card.getIndex(): rank index in the high bits, suit in the low two.
+    public static int strength5(int c0, int c1, int c2, int c3, int c4) {
+        return lookup5(FLUSH5, UNIQUE5, MULTI5, c0, c1, c2, c3, c4);
+    }
+
+    public static int strength3(int c0, int c1, int c2) {
+        return lookup3(MULTI3, c0, c1, c2);
+    }
+
+    // Reads the entry for a 5-card hand from any tables keyed like FLUSH5, UNIQUE5 and MULTI5.
+    static int lookup5(int[] flush5, int[] unique5, int[] multi5, int c0, int c1, int c2, int c3, int c4) {
+        int mask = (1 << (c0 >> 2)) | (1 << (c1 >> 2)) | (1 << (c2 >> 2)) | (1 << (c3 >> 2)) | (1 << (c4 >> 2));
+        if (Integer.bitCount(mask) == 5) {
+            int s = c0 & 3;
+            boolean flush = (c1 & 3) == s && (c2 & 3) == s && (c3 & 3) == s && (c4 & 3) == s;
+            return flush ? flush5[mask] : unique5[mask];
+        }
+        return multi5[multisetIndex(sorted(c0 >> 2, c1 >> 2, c2 >> 2, c3 >> 2, c4 >> 2))];
+    }
+
+    // Reads the entry for a 3-card hand from a table keyed like MULTI3.
+    static int lookup3(int[] multi3, int c0, int c1, int c2) {
+        int a = c0 >> 2, b = c1 >> 2, c = c2 >> 2, t;
+        if (a > b) { t = a; a = b; b = t; }
+        if (b > c) { t = b; b = c; c = t; }
+        if (a > b) { t = a; a = b; b = t; }
+        return multi3[CHOOSE[a][1] + CHOOSE[b + 1][2] + CHOOSE[c + 2][3]];
+    }
+
+    private static int[] sorted(int a, int b, int c, int d, int e) {
+        int[] r = {a, b, c, d, e};
+        for (int i = 1; i < 5; i++) {
+            int v = r[i], j = i - 1;
+            while (j >= 0 && r[j] > v) { r[j + 1] = r[j]; j--; }
+            r[j + 1] = v;
+        }
+        return r;
+    }
+}
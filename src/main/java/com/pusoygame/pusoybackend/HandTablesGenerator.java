@@ -0,0 +1,172 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds the lookup tables behind HandTables from HandEvaluator.strengthFromCounts, the reference
+ * definition of hand strength, and the RowPercentiles tables derived from them.
+ *
+ * Run by the build (exec-maven-plugin, process-classes phase) with the classes directory as argument,
+ * so the tables ship as a resource and are never recomputed at JVM start. HandTables falls back to
+ * compute() when the resource is missing, e.g. when running from an IDE without the Maven build.
+ */
+public class HandTablesGenerator {
+
+    public static final String RESOURCE = "pusoy/hand-tables.bin";
+    public static final int MAGIC = 0x50485431; // "PHT1"
+    public static final String PERCENTILE_RESOURCE = "pusoy/row-percentiles.bin";
+    public static final int PERCENTILE_MAGIC = 0x50525031; // "PRP1"
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "target/classes");
+        int[][] tables = compute();
+        writeResource(dir.resolve(RESOURCE), MAGIC, tables);
+        writeResource(dir.resolve(PERCENTILE_RESOURCE), PERCENTILE_MAGIC, computePercentiles(tables));
+    }
+
+    private static void writeResource(Path out, int magic, int[][] tables) throws IOException {
+        Files.createDirectories(out.getParent());
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(out))) {
+            write(file, magic, tables);
+        }
+        System.out.println("Wrote lookup tables to " + out + " (" + Files.size(out) + " bytes)");
+    }
+
+    /**
+     * Returns { FLUSH5 by rank mask, UNIQUE5 by rank mask, MULTI5 by rank-multiset index, MULTI3 by rank-multiset index }.
+     * Rank masks use bit (value - 2); unused slots hold 0.
+     */
+    public static int[][] compute() {
+        int[] flush5 = new int[HandTables.MASKS];
+        int[] unique5 = new int[HandTables.MASKS];
+        for (int mask = 0; mask < HandTables.MASKS; mask++) {
+            if (Integer.bitCount(mask) != 5) continue;
+            int[] counts = new int[15];
+            for (int r = 0; r < 13; r++) if ((mask & (1 << r)) != 0) counts[r + 2] = 1;
+            flush5[mask] = HandEvaluator.strengthFromCounts(counts, mask << 2, true, 5);
+            unique5[mask] = HandEvaluator.strengthFromCounts(counts, mask << 2, false, 5);
+        }
+
+        int[] multi5 = new int[HandTables.MULTI5_SIZE];
+        int[] multi3 = new int[HandTables.MULTI3_SIZE];
+        forEachMultiset(new int[5], (ranks, counts, mask) -> multi5[HandTables.multisetIndex(ranks)] =
+                HandEvaluator.strengthFromCounts(counts, mask, false, 5));
+        forEachMultiset(new int[3], (ranks, counts, mask) -> multi3[HandTables.multisetIndex(ranks)] =
+                HandEvaluator.strengthFromCounts(counts, mask, false, 3));
+        return new int[][]{flush5, unique5, multi5, multi3};
+    }
+
+    /**
+     * Returns RowPercentiles tables keyed exactly like the given strength tables: for every hand, the chance
+     * (in parts per RowPercentiles.SCALE) that it beats a uniformly random hand of the same size, ties
+     * counting half. Each table slot stands for a known number of hands (suit assignments), so the exact
+     * strength distribution over all C(52,5) and C(52,3) hands is built without enumerating them.
+     */
+    public static int[][] computePercentiles(int[][] strengths) {
+        int[] flush5 = strengths[0], unique5 = strengths[1], multi5 = strengths[2], multi3 = strengths[3];
+
+        TreeMap<Integer, Long> dist5 = new TreeMap<>();
+        for (int mask = 0; mask < HandTables.MASKS; mask++) {
+            if (Integer.bitCount(mask) != 5) continue;
+            dist5.merge(flush5[mask], 4L, Long::sum);
+            dist5.merge(unique5[mask], 4L * 4 * 4 * 4 * 4 - 4, Long::sum);
+        }
+        forEachMultiset(new int[5], (ranks, counts, mask) -> {
+            // Five distinct ranks are already counted through the rank-mask tables.
+            if (Integer.bitCount(mask) < 5) dist5.merge(multi5[HandTables.multisetIndex(ranks)], suitings(counts), Long::sum);
+        });
+        TreeMap<Integer, Long> dist3 = new TreeMap<>();
+        forEachMultiset(new int[3], (ranks, counts, mask) ->
+                dist3.merge(multi3[HandTables.multisetIndex(ranks)], suitings(counts), Long::sum));
+
+        Map<Integer, Integer> pct5 = percentiles(dist5);
+        Map<Integer, Integer> pct3 = percentiles(dist3);
+        int[] pFlush5 = new int[HandTables.MASKS];
+        int[] pUnique5 = new int[HandTables.MASKS];
+        for (int mask = 0; mask < HandTables.MASKS; mask++) {
+            if (Integer.bitCount(mask) != 5) continue;
+            pFlush5[mask] = pct5.get(flush5[mask]);
+            pUnique5[mask] = pct5.get(unique5[mask]);
+        }
+        int[] pMulti5 = new int[HandTables.MULTI5_SIZE];
+        int[] pMulti3 = new int[HandTables.MULTI3_SIZE];
+        forEachMultiset(new int[5], (ranks, counts, mask) -> {
+            int i = HandTables.multisetIndex(ranks);
+            pMulti5[i] = pct5.get(multi5[i]);
+        });
+        forEachMultiset(new int[3], (ranks, counts, mask) -> {
+            int i = HandTables.multisetIndex(ranks);
+            pMulti3[i] = pct3.get(multi3[i]);
+        });
+        return new int[][]{pFlush5, pUnique5, pMulti5, pMulti3};
+    }
+
+    // Number of ways to pick suits for a rank multiset: product of C(4, count) over its ranks.
+    private static long suitings(int[] counts) {
+        final int[] choose4 = {1, 4, 6, 4, 1};
+        long ways = 1;
+        for (int c : counts) ways *= choose4[c];
+        return ways;
+    }
+
+    // Strength -> (hands below + half the hands equal) / all hands, in parts per RowPercentiles.SCALE.
+    private static Map<Integer, Integer> percentiles(TreeMap<Integer, Long> distribution) {
+        long total = 0;
+        for (long n : distribution.values()) total += n;
+        Map<Integer, Integer> byStrength = new HashMap<>();
+        long below = 0;
+        for (Map.Entry<Integer, Long> e : distribution.entrySet()) {
+            double winShare = (below + e.getValue() / 2.0) / total;
+            byStrength.put(e.getKey(), (int) Math.round(winShare * RowPercentiles.SCALE));
+            below += e.getValue();
+        }
+        return byStrength;
+    }
+
+    private interface MultisetVisitor {
+        void visit(int[] ranks, int[] counts, int mask);
+    }
+
+    // Visits every non-decreasing rank-index sequence; five of a kind is impossible and skipped.
+    // counts is indexed by rank value and mask uses bit (value), as strengthFromCounts expects.
+    private static void forEachMultiset(int[] ranks, MultisetVisitor visitor) {
+        visitMultisets(ranks, 0, 0, visitor);
+    }
+
+    private static void visitMultisets(int[] ranks, int depth, int minRank, MultisetVisitor visitor) {
+        if (depth == ranks.length) {
+            int[] counts = new int[15];
+            int mask = 0;
+            for (int r : ranks) {
+                if (++counts[r + 2] > 4) return;
+                mask |= 1 << (r + 2);
+            }
+            visitor.visit(ranks, counts, mask);
+            return;
+        }
+        for (int r = minRank; r < 13; r++) {
+            ranks[depth] = r;
+            visitMultisets(ranks, depth + 1, r, visitor);
+        }
+    }
+
+    static void write(OutputStream target, int magic, int[][] tables) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(magic);
+        out.writeInt(tables.length);
+        for (int[] t : tables) out.writeInt(t.length);
+        for (int[] t : tables) {
+            for (int v : t) out.writeInt(v);
+        }
+        out.flush();
+    }
+}
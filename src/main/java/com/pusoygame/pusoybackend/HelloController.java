@@ -2,77 +2,201 @@ package com.pusoygame.pusoybackend;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class HelloController {
 
-    private final AtomicReference<Game> currentGame = new AtomicReference<>();
+    // The single-page frontend plays on its own table; lobby tables live alongside it in the same registry.
+    private final TableRegistry tables;
+    private final AiWorkQueue aiWork;
+    private final ScoringEngine scoring;
+    private final RegretAnalyzer regret;
+    private final NextRoundPreparer nextRounds;
+    private final GamePool pool;
+    private final ObjectMapper mapper;
+
+    @Value("${pusoy.equity.samples:20000}")
+    private int defaultEquitySamples;
+
+    @Value("${pusoy.equity.time-cap-ms:1000}")
+    private long defaultEquityTimeCapMs;
+
+    // Upper bounds for the client-supplied samples and timeCapMs, so one request cannot pin the CPU.
+    @Value("${pusoy.equity.max-samples:200000}")
+    private int maxEquitySamples;
+
+    @Value("${pusoy.equity.max-time-cap-ms:2000}")
+    private long maxEquityTimeCapMs;
 
-    // A method for primary endpoint for our frontend.
+    public HelloController(TableRegistry tables, AiWorkQueue aiWork, ScoringEngine scoring, RegretAnalyzer regret,
+                           NextRoundPreparer nextRounds, GamePool pool, ObjectMapper mapper) {
+        this.tables = tables;
+        this.aiWork = aiWork;
+        this.scoring = scoring;
+        this.regret = regret;
+        this.nextRounds = nextRounds;
+        this.pool = pool;
+        this.mapper = mapper;
+    }
+
+    // A method for primary endpoint for our frontend. Unchanged polls are answered 304 from the ETag.
     @GetMapping("/game")
-    public Game getGameState() {
-        Game game = currentGame.get();
-        if (game == null) {
-            game = initializeNewGame();
-            currentGame.set(game);
-        }
-        return currentGame.get();
+    public ResponseEntity<byte[]> getGameState(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        return GameStateResponses.of(defaultTable(), ifNoneMatch, mapper);
     }
 
-    // This new @PostMapping endpoint receives the human player's hand arrangement.
+    // This new @PostMapping endpoint receives the human player's hand arrangement. Regret shows up on a later poll.
     @PostMapping("/game/set-hands")
     public ResponseEntity<Game> setHumanHands(@RequestBody HandSubmission submission) {
-        Game game = currentGame.get();
-        Player humanPlayer = game.getPlayers().stream()
-                .filter(p -> p.getId().equals(submission.getPlayerId()))
-                .findFirst()
-                .orElse(null);
-
-        if (humanPlayer == null) {
-            return ResponseEntity.badRequest().body(game);
-        }
-
         Hand front = new Hand(submission.getFrontHand());
         Hand middle = new Hand(submission.getMiddleHand());
         Hand back = new Hand(submission.getBackHand());
 
-        if (game.setPlayerHands(humanPlayer, front, middle, back)) {
-            game.compareAllPlayerHands();
-            currentGame.set(game);
-            return ResponseEntity.ok(game);
-        } else {
-            return ResponseEntity.badRequest().body(game);
+        TableActor table = defaultTable();
+        // The phase the command left the game in, or null when the submission was rejected.
+        Game.Phase phase = table.ask(game -> {
+            Player humanPlayer = game.findPlayer(submission.getPlayerId());
+            if (humanPlayer == null || !game.setPlayerHands(humanPlayer, front, middle, back)) {
+                return null;
+            }
+            game.showdown(scoring);
+            return game.getPhase();
+        }).join();
+
+        boolean accepted = phase != null;
+        // Only a settled round has regrets to analyse and a next round worth preparing.
+        if (phase == Game.Phase.SHOWDOWN) afterShowdown(table);
+        Game game = table.view().game();
+        return accepted ? ResponseEntity.ok(game) : ResponseEntity.badRequest().body(game);
+    }
+
+    // Categories, foul status and weakest row of a partial or full arrangement; cheap enough to call on every card move.
+    @PostMapping("/game/preview")
+    public ResponseEntity<ArrangementPreview> previewHands(@RequestBody HandSubmission submission) {
+        List<Card> front = orEmpty(submission.getFrontHand());
+        List<Card> middle = orEmpty(submission.getMiddleHand());
+        List<Card> back = orEmpty(submission.getBackHand());
+        if (front.size() > 3 || middle.size() > 5 || back.size() > 5) {
+            return ResponseEntity.badRequest().build();
         }
+
+        // Every card must name a suit and rank, be distinct and, when the seat is known, dealt to it.
+        Player seat = defaultTable().view().game().findPlayer(submission.getPlayerId());
+        long dealt = seat != null && seat.handMask() != 0 ? seat.handMask() : -1L;
+        long seen = 0;
+        for (List<Card> row : List.of(front, middle, back)) {
+            for (Card c : row) {
+                if (c == null || c.getSuit() == null || c.getRank() == null) {
+                    return ResponseEntity.badRequest().build();
+                }
+                long bit = 1L << c.getIndex();
+                if ((seen & bit) != 0 || (dealt & bit) == 0) {
+                    return ResponseEntity.badRequest().build();
+                }
+                seen |= bit;
+            }
+        }
+        return ResponseEntity.ok(ArrangementPreview.of(front, middle, back));
+    }
+
+    private static List<Card> orEmpty(List<Card> cards) {
+        return cards != null ? cards : List.of();
     }
 
-    // endpoint will reset the game state and deal new hands.
+    // Returns the k strongest non-fouling arrangements of a seat's dealt cards, best first.
+    @GetMapping("/game/suggestions")
+    public ResponseEntity<List<ArrangementSuggestion>> getSuggestions(@RequestParam String playerId,
+                                                                      @RequestParam(defaultValue = "3") int k) {
+        Game game = defaultTable().view().game();
+        Player player = game.findPlayer(playerId);
+        if (player == null || k < 1 || k > Game.MAX_SUGGESTIONS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(game.suggestArrangements(player, k));
+    }
+
+    // Win probabilities of a front/middle/back arrangement against opponents dealt from the unseen cards.
+    @PostMapping("/game/equity")
+    public ResponseEntity<EquityReport> getEquity(@RequestBody HandSubmission submission,
+                                                  @RequestParam(required = false) Integer samples,
+                                                  @RequestParam(required = false) Long timeCapMs,
+                                                  @RequestParam(defaultValue = "3") int opponents) {
+        List<Card> front = submission.getFrontHand();
+        List<Card> middle = submission.getMiddleHand();
+        List<Card> back = submission.getBackHand();
+        if (front == null || middle == null || back == null
+                || front.size() != 3 || middle.size() != 5 || back.size() != 5
+                || opponents < 1 || opponents > EquityCalculator.MAX_OPPONENTS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Prefer the seat's dealt cards when we know the seat; otherwise the submitted rows are all it has seen.
+        List<Card> seen = new ArrayList<>(front);
+        seen.addAll(middle);
+        seen.addAll(back);
+        Player seat = defaultTable().view().game().findPlayer(submission.getPlayerId());
+        if (seat != null && seat.getHand() != null) {
+            seen.clear();
+            seen.addAll(seat.getHand().getCards());
+        }
+
+        int sampleCount = samples != null ? samples : defaultEquitySamples;
+        long timeCap = timeCapMs != null ? timeCapMs : defaultEquityTimeCapMs;
+        if (sampleCount < 0 || timeCap < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        sampleCount = Math.min(sampleCount, maxEquitySamples);
+        timeCap = Math.min(timeCap, maxEquityTimeCapMs);
+        return ResponseEntity.ok(EquityCalculator.calculate(front, middle, back,
+                EquityCalculator.unseenBy(seen), opponents, sampleCount, timeCap));
+    }
+
+    // endpoint will reset the game state and deal new hands, using the round prepared during the last showdown if any.
     @GetMapping("/game/new")
     public Game newGame() {
-        Game newGame = initializeNewGame();
-        currentGame.set(newGame);
-        return newGame;
+        Game next = nextRounds.take(TableRegistry.DEFAULT_TABLE);
+        TableActor table = tables.put(TableRegistry.DEFAULT_TABLE, next != null ? next : initializeNewGame());
+        // A round settled at the deal (every human holding an auto-win) is already over.
+        if (table.view().game().getPhase() == Game.Phase.SHOWDOWN) afterShowdown(table);
+        return table.view().game();
     }
 
-    // A method to initialize a new game.
+    // Off the request path: regret analysis of the finished round and the deal for the next one.
+    private void afterShowdown(TableActor table) {
+        regret.analyzeLater(table);
+        nextRounds.prepare(TableRegistry.DEFAULT_TABLE, this::prepareNewGame);
+    }
+
+    private TableActor defaultTable() {
+        return tables.getOrCreate(TableRegistry.DEFAULT_TABLE, this::initializeNewGame);
+    }
+
+    // A method to initialize a new game, from the pre-dealt pool when it has one.
     private Game initializeNewGame() {
-        List<Player> players = new ArrayList<>();
-        players.add(new Player("Human"));
-        players.add(new Player("AI 1"));
-        players.add(new Player("AI 2"));
-        players.add(new Player("AI 3"));
-        Game game = new Game(players);
-        
-        for (int i = 1; i < players.size(); i++) {
-            game.setAIHands(players.get(i));
-        }
-        
+        Game pooled = pool.take(List.of("Human"));
+        if (pooled != null) return pooled;
+        Game game = Game.dealWithAIBackfill(List.of("Human"), Game.SEATS);
+        aiWork.arrangeAISeats(game);
+        game.settleIfDecided(scoring);
+        return game;
+    }
+
+    // Same as initializeNewGame, but speculative work fails rather than degrading the AI when the queue is busy.
+    private Game prepareNewGame() {
+        Game game = Game.dealWithAIBackfill(List.of("Human"), Game.SEATS);
+        aiWork.arrangeAISeats(game, AiWorkQueue.OverloadPolicy.REJECT);
+        game.settleIfDecided(scoring);
         return game;
     }
 }
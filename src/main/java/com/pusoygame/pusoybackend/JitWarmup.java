@@ -0,0 +1,130 @@
+package com.pusoygame.pusoybackend;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the JIT before a node takes traffic. A seeded corpus of deals is played through the same path a
+ * round takes (deal, auto-win declaration, AI search, suggestions, showdown, scoring and the JSON view) until
+ * the JVM's total compilation time stops growing: at most stable-compile-ms per deal for stable-deals deals
+ * in a row, after at least min-deals. max-deals and max-seconds cap it when compilation never settles.
+ *
+ * Spring Boot only reports the readiness state ACCEPTING_TRAFFIC once every ApplicationRunner has returned,
+ * so /actuator/health/readiness answers OUT_OF_SERVICE for the whole warm-up while liveness is already UP.
+ * The duration is logged and recorded as pusoy.warmup.
+ */
+@Component
+public class JitWarmup implements ApplicationRunner {
+
+    private final ScoringEngine scoring;
+    private final ObjectMapper mapper;
+    private final ApplicationEventPublisher events;
+    private final Timer duration;
+
+    @Value("${pusoy.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pusoy.warmup.seed:1}")
+    private long seed;
+
+    @Value("${pusoy.warmup.min-deals:4}")
+    private int minDeals;
+
+    @Value("${pusoy.warmup.max-deals:64}")
+    private int maxDeals;
+
+    @Value("${pusoy.warmup.max-seconds:60}")
+    private long maxSeconds;
+
+    @Value("${pusoy.warmup.stable-compile-ms:20}")
+    private long stableCompileMs;
+
+    @Value("${pusoy.warmup.stable-deals:3}")
+    private int stableDeals;
+
+    public JitWarmup(ScoringEngine scoring, ObjectMapper mapper, ApplicationEventPublisher events,
+                     MeterRegistry meters) {
+        this.scoring = scoring;
+        this.mapper = mapper;
+        this.events = events;
+        this.duration = Timer.builder("pusoy.warmup").register(meters);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled) return;
+        AvailabilityChangeEvent.publish(events, this, ReadinessState.REFUSING_TRAFFIC);
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean measurable = jit != null && jit.isCompilationTimeMonitoringSupported();
+        Random random = new Random(seed);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(maxSeconds);
+        long compileMsBefore = measurable ? jit.getTotalCompilationTime() : 0;
+        long lastCompileMs = compileMsBefore;
+        int deals = 0;
+        int quietDeals = 0;
+        String stoppedBy = "deal cap";
+
+        while (deals < maxDeals) {
+            playRound(Game.dealWithAIBackfill(List.of("Warm-up"), Game.SEATS, random));
+            deals++;
+            if (System.nanoTime() - deadline >= 0) {
+                stoppedBy = "time cap";
+                break;
+            }
+
+            // Without compilation timing the minimum corpus is all we can go by.
+            if (!measurable) {
+                if (deals >= minDeals) {
+                    stoppedBy = "minimum corpus";
+                    break;
+                }
+                continue;
+            }
+            long compileMs = jit.getTotalCompilationTime();
+            quietDeals = compileMs - lastCompileMs <= stableCompileMs ? quietDeals + 1 : 0;
+            lastCompileMs = compileMs;
+            if (deals >= minDeals && quietDeals >= stableDeals) {
+                stoppedBy = "compilation settled";
+                break;
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        duration.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        System.out.println("JIT warm-up: " + deals + " deals in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos)
+                + " ms (" + stoppedBy + ")"
+                + (measurable ? ", " + (jit.getTotalCompilationTime() - compileMsBefore) + " ms compiling" : ""));
+    }
+
+    // One round as the frontend table plays it: AI seats searched, the human takes the top suggestion.
+    void playRound(Game game) throws Exception {
+        game.arrangeAISeats();
+        Player human = game.getPlayers().get(0);
+        if (human.getBackHand() == null) {
+            ArrangementSuggestion best = game.suggestArrangements(human, 1).get(0);
+            game.setPlayerHands(human, new Hand(new ArrayList<>(best.getFrontHand())),
+                    new Hand(new ArrayList<>(best.getMiddleHand())), new Hand(new ArrayList<>(best.getBackHand())));
+        }
+        game.settleIfDecided(scoring);
+        mapper.writeValueAsBytes(game.copy());
+    }
+}
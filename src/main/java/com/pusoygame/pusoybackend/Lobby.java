@@ -0,0 +1,179 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lobby queues humans waiting for a table and batches them into tables on a fixed tick.
+ *
+ * Joining is a lock-free enqueue and clients poll their ticket, so no thread is held per waiting player.
+ * Each tick the matchmaker seats full tables of humans; once the oldest waiting human has waited
+ * longer than the backfill delay, the remaining humans are seated together and the empty seats go to AI.
+ * Dealing and AI hand setup run off the tick thread, on a bounded pool of seating workers. A batch the pool
+ * cannot take waits for the next tick; a batch whose seating fails is queued again, and its tickets are marked
+ * FAILED after max-seat-attempts tries.
+ *
+ * Lobby tables are removed once their showdown has been on display for finished-table-ttl-ms.
+ */
+@Component
+public class Lobby {
+
+    private final TableRegistry tables;
+    private final ClusterMembership cluster;
+    private final AiWorkQueue aiWork;
+    private final ScoringEngine scoring;
+    private final GamePool pool;
+    private final Queue<LobbyTicket> joined = new ConcurrentLinkedQueue<>();
+    private final Map<String, LobbyTicket> tickets = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor seating;
+
+    // Only touched by the matchmaker tick, which never runs concurrently with itself.
+    private final ArrayDeque<LobbyTicket> waiting = new ArrayDeque<>();
+
+    @Value("${pusoy.lobby.backfill-after-ms:5000}")
+    private long backfillAfterMs;
+
+    @Value("${pusoy.lobby.max-tables-per-tick:256}")
+    private int maxTablesPerTick;
+
+    @Value("${pusoy.lobby.ticket-ttl-ms:600000}")
+    private long ticketTtlMs;
+
+    @Value("${pusoy.lobby.max-seat-attempts:3}")
+    private int maxSeatAttempts;
+
+    @Value("${pusoy.lobby.finished-table-ttl-ms:600000}")
+    private long finishedTableTtlMs;
+
+    public Lobby(TableRegistry tables, ClusterMembership cluster, AiWorkQueue aiWork, ScoringEngine scoring,
+                 GamePool pool,
+                 @Value("${pusoy.lobby.seat-concurrency:2}") int seatConcurrency,
+                 @Value("${pusoy.lobby.seat-queue-capacity:64}") int seatQueueCapacity) {
+        this.tables = tables;
+        this.cluster = cluster;
+        this.aiWork = aiWork;
+        this.scoring = scoring;
+        this.pool = pool;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.seating = new ThreadPoolExecutor(seatConcurrency, seatConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(seatQueueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "lobby-seat-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public LobbyTicket join(String name) {
+        LobbyTicket ticket = new LobbyTicket(name);
+        tickets.put(ticket.getId(), ticket);
+        joined.add(ticket);
+        return ticket;
+    }
+
+    public LobbyTicket ticket(String ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    @Scheduled(fixedDelayString = "${pusoy.lobby.tick-ms:500}")
+    public void matchmake() {
+        for (LobbyTicket t; (t = joined.poll()) != null; ) waiting.add(t);
+
+        long now = System.currentTimeMillis();
+        int seated = 0;
+        while (!waiting.isEmpty() && seated < maxTablesPerTick) {
+            boolean full = waiting.size() >= Game.SEATS;
+            boolean overdue = now - waiting.peekFirst().getEnqueuedAt() >= backfillAfterMs;
+            if (!full && !overdue) break;
+
+            List<LobbyTicket> batch = new ArrayList<>(Game.SEATS);
+            while (batch.size() < Game.SEATS && !waiting.isEmpty()) batch.add(waiting.pollFirst());
+            try {
+                seating.execute(() -> seatOrRequeue(batch));
+            } catch (RejectedExecutionException e) {
+                // Workers saturated: put the batch back in front, in order, and try again next tick.
+                for (int i = batch.size() - 1; i >= 0; i--) waiting.addFirst(batch.get(i));
+                break;
+            }
+            seated++;
+        }
+
+        tickets.values().removeIf(t -> t.getStatus() != LobbyTicket.Status.WAITING
+                && now - t.closedAt() > ticketTtlMs);
+    }
+
+    // Lobby tables whose round ended more than finished-table-ttl-ms ago; the frontend's table is kept.
+    @Scheduled(fixedDelayString = "${pusoy.lobby.eviction-interval-ms:60000}")
+    public void evictFinishedTables() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Map.Entry<String, TableActor> e : tables.snapshot().entrySet()) {
+            if (TableRegistry.DEFAULT_TABLE.equals(e.getKey())) continue;
+            TableActor.View view = e.getValue().view();
+            if (view.game().getPhase() == Game.Phase.SHOWDOWN && now - view.publishedAt() > finishedTableTtlMs
+                    && tables.remove(e.getKey(), e.getValue())) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) System.out.println("Lobby evicted " + evicted + " finished tables");
+    }
+
+    private void seatOrRequeue(List<LobbyTicket> batch) {
+        try {
+            seat(batch);
+        } catch (Throwable e) {
+            System.out.println("Lobby could not seat " + batch.size() + " players: " + e);
+            // Requeued tickets keep their join time, so they are overdue and get AI backfill next tick.
+            for (LobbyTicket t : batch) {
+                if (t.failedSeatAttempt() >= maxSeatAttempts) t.fail();
+                else joined.add(t);
+            }
+        }
+    }
+
+    private void seat(List<LobbyTicket> batch) {
+        List<String> names = new ArrayList<>(batch.size());
+        for (LobbyTicket t : batch) names.add(t.getName());
+
+        // A pooled game is ready as is; otherwise deal one, shedding AI quality rather than rejecting humans
+        // who are already waiting on this table.
+        Game game = pool.take(names);
+        if (game == null) {
+            game = Game.dealWithAIBackfill(names, Game.SEATS);
+            aiWork.arrangeAISeats(game, AiWorkQueue.OverloadPolicy.DEGRADE);
+            // Humans who were all dealt auto-wins have nothing to submit.
+            game.settleIfDecided(scoring);
+        }
+        // Created under an id this node owns, so the table never needs a redirect or handoff on creation.
+        String tableId = cluster.newLocalTableId();
+        // The table's actor owns the game from here on; tickets are completed from its published view.
+        List<Player> seats = tables.put(tableId, game).view().game().getPlayers();
+        // Humans were seated first, in batch order.
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).seat(tableId, seats.get(i).getId());
+        }
+        System.out.println("Lobby seated " + names + " at table " + tableId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        seating.shutdownNow();
+    }
+}
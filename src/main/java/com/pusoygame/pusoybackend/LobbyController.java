@@ -0,0 +1,91 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.concurrent.CompletionException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// Endpoints for queueing in the lobby and playing at the multi-table tables it creates.
+@RestController
+public class LobbyController {
+
+    private final Lobby lobby;
+    private final TableRegistry tables;
+    private final ScoringEngine scoring;
+    private final RegretAnalyzer regret;
+    private final ObjectMapper mapper;
+
+    public LobbyController(Lobby lobby, TableRegistry tables, ScoringEngine scoring, RegretAnalyzer regret,
+                           ObjectMapper mapper) {
+        this.lobby = lobby;
+        this.tables = tables;
+        this.scoring = scoring;
+        this.regret = regret;
+        this.mapper = mapper;
+    }
+
+    @PostMapping("/lobby/join")
+    public LobbyTicket join(@RequestParam(defaultValue = "Human") String name) {
+        return lobby.join(name);
+    }
+
+    @GetMapping("/lobby/tickets/{ticketId}")
+    public ResponseEntity<LobbyTicket> getTicket(@PathVariable String ticketId) {
+        LobbyTicket ticket = lobby.ticket(ticketId);
+        return ticket != null ? ResponseEntity.ok(ticket) : ResponseEntity.notFound().build();
+    }
+
+    // Until the showdown a seat sees only its own cards; other seats show just whether they have submitted.
+    @GetMapping("/tables/{tableId}")
+    public ResponseEntity<byte[]> getTable(@PathVariable String tableId,
+                                           @RequestParam(required = false) String playerId,
+                                           @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        TableActor table = tables.get(tableId);
+        return table != null ? GameStateResponses.forViewer(table, playerId, ifNoneMatch, mapper)
+                : ResponseEntity.notFound().build();
+    }
+
+    // Sets one seat's rows; the showdown runs once every seat at the table has set its hands, and the humans'
+    // regret reports are attached to the round when the analysis finishes.
+    @PostMapping("/tables/{tableId}/set-hands")
+    public ResponseEntity<Game> setHands(@PathVariable String tableId, @RequestBody HandSubmission submission) {
+        TableActor table = tables.get(tableId);
+        if (table == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Hand front = new Hand(submission.getFrontHand());
+        Hand middle = new Hand(submission.getMiddleHand());
+        Hand back = new Hand(submission.getBackHand());
+
+        boolean accepted;
+        try {
+            accepted = table.ask(game -> {
+                Player player = game.findPlayer(submission.getPlayerId());
+                if (player == null || player.isAi() || !game.setPlayerHands(player, front, middle, back)) {
+                    return false;
+                }
+                if (game.allHandsSet()) {
+                    game.showdown(scoring);
+                }
+                return true;
+            }).join();
+        } catch (CompletionException e) {
+            // Handed off while the request was on its way; ApiExceptionHandler redirects to the new owner.
+            if (e.getCause() instanceof TableMovedException moved) throw moved;
+            throw e;
+        }
+
+        if (accepted) regret.analyzeLater(table);
+        Game game = table.view().game();
+        return accepted ? ResponseEntity.ok(game) : ResponseEntity.badRequest().body(game);
+    }
+}
@@ -0,0 +1,85 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.UUID;
+
+/**
+ * A human's place in the lobby queue. Clients poll it until the matchmaker has seated them,
+ * at which point tableId and playerId identify their seat.
+ */
+public class LobbyTicket {
+
+    public enum Status {
+        WAITING,
+        SEATED,
+        // Seating failed max-seat-attempts times; the client has to join again.
+        FAILED
+    }
+
+    private final String id;
+    private final String name;
+    private final long enqueuedAt;
+
+    private volatile Status status = Status.WAITING;
+    private volatile String tableId;
+    private volatile String playerId;
+    private volatile long seatedAt;
+    private volatile int seatAttempts;
+    // When the ticket left WAITING, for expiring it.
+    private volatile long closedAt;
+
+    public LobbyTicket(String name) {
+        this.id = UUID.randomUUID().toString();
+        this.name = name;
+        this.enqueuedAt = System.currentTimeMillis();
+    }
+
+    void seat(String tableId, String playerId) {
+        this.tableId = tableId;
+        this.playerId = playerId;
+        this.seatedAt = System.currentTimeMillis();
+        this.closedAt = seatedAt;
+        this.status = Status.SEATED;
+    }
+
+    // Counts a failed attempt to seat this ticket and returns how many there have been.
+    int failedSeatAttempt() {
+        return ++seatAttempts;
+    }
+
+    void fail() {
+        this.closedAt = System.currentTimeMillis();
+        this.status = Status.FAILED;
+    }
+
+    long closedAt() {
+        return closedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public long getSeatedAt() {
+        return seatedAt;
+    }
+}
@@ -0,0 +1,120 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Speculatively prepares each table's next round while its players look at the showdown: the deal, auto-win
+ * declarations and AI arrangements run in the background, and starting the next round only swaps the
+ * prepared game in.
+ *
+ * At most one round is prepared per table. A round still being prepared when it is asked for is waited
+ * for up to take-timeout-ms, since it started earlier than a fresh deal would; a preparation that fails
+ * (e.g. the AI queue rejecting speculative work), is cancelled or is still running after that, or a full
+ * queue, just means the caller deals the round itself.
+ *
+ * Metrics: pusoy.next-round.hits, pusoy.next-round.misses and pusoy.next-round.skipped.
+ */
+@Component
+public class NextRoundPreparer {
+
+    private final Map<String, CompletableFuture<Game>> prepared = new ConcurrentHashMap<>();
+    // Every preparation not yet finished, including ones take() already removed and is waiting on.
+    private final Set<CompletableFuture<Game>> running = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter skipped;
+    private final long takeTimeoutMs;
+
+    public NextRoundPreparer(MeterRegistry meters,
+                             @Value("${pusoy.next-round.concurrency:1}") int concurrency,
+                             @Value("${pusoy.next-round.queue-capacity:64}") int queueCapacity,
+                             @Value("${pusoy.next-round.take-timeout-ms:2000}") long takeTimeoutMs) {
+        this.takeTimeoutMs = takeTimeoutMs;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "next-round-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hits = Counter.builder("pusoy.next-round.hits").register(meters);
+        this.misses = Counter.builder("pusoy.next-round.misses").register(meters);
+        this.skipped = Counter.builder("pusoy.next-round.skipped").register(meters);
+    }
+
+    /**
+     * Starts preparing the table's next round with the given factory, unless one is already prepared or
+     * under way. Returns at once.
+     */
+    public void prepare(String tableId, Supplier<Game> factory) {
+        prepared.computeIfAbsent(tableId, id -> {
+            try {
+                CompletableFuture<Game> next = CompletableFuture.supplyAsync(factory, executor);
+                running.add(next);
+                next.whenComplete((game, e) -> running.remove(next));
+                return next;
+            } catch (RejectedExecutionException e) {
+                skipped.increment();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Hands over the table's prepared next round, or null if none was prepared or preparing it failed.
+     * The prepared game is removed, so it is only ever installed once.
+     */
+    public Game take(String tableId) {
+        CompletableFuture<Game> next = prepared.remove(tableId);
+        if (next == null) {
+            misses.increment();
+            return null;
+        }
+        try {
+            Game game = next.get(takeTimeoutMs, TimeUnit.MILLISECONDS);
+            (game != null ? hits : misses).increment();
+            return game;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            misses.increment();
+            return null;
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            // A preparation still running keeps going in the background; its game is simply never used.
+            System.out.println("Discarding next round prepared for table " + tableId + ": "
+                    + (e instanceof ExecutionException ? e.getCause() : e));
+            misses.increment();
+            return null;
+        }
+    }
+
+    // Cancels the rounds still pending, which also releases any take() waiting on one.
+    @PreDestroy
+    public void shutdown() {
+        running.forEach(next -> next.cancel(true));
+        prepared.clear();
+        executor.shutdownNow();
+    }
+}
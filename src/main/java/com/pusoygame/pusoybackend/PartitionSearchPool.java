@@ -0,0 +1,122 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dedicated fork/join pool for AIHandBuilder's searches, so they no longer share the common pool with
+ * parallel streams elsewhere (equity, bulk) and with each other.
+ *
+ * A search is split over its back-hand candidates (1,287 for 13 cards) by recursive halving into exactly
+ * max-parallelism-per-search leaf ranges, so one search can occupy at most that many workers and concurrent
+ * searches share the pool instead of each trying to take all of it.
+ *
+ * AIHandBuilder is static, so the pool is held statically and shared by every application context in the JVM.
+ * It is created once, by the first context to start or, in tools and tests without one, by the first search
+ * (sized to the machine). A later context reuses the live pool instead of replacing it, and nothing shuts it
+ * down: its workers are daemon threads, and shutting it down from one context would make searches in
+ * another fail with RejectedExecutionException.
+ */
+@Component
+public class PartitionSearchPool {
+
+    // Written once under the class lock, read without it.
+    private static volatile ForkJoinPool pool;
+    private static volatile int maxParallelismPerSearch;
+
+    public PartitionSearchPool(@Value("${pusoy.search.parallelism:0}") int parallelism,
+                               @Value("${pusoy.search.max-parallelism-per-search:0}") int perSearch) {
+        int size = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (configure(size, perSearch)) {
+            System.out.println("Partition search pool: " + size + " workers, at most "
+                    + maxParallelismPerSearch + " per search");
+        } else {
+            System.out.println("Partition search pool already running with " + pool.getParallelism()
+                    + " workers, at most " + maxParallelismPerSearch + " per search; keeping it");
+        }
+    }
+
+    // Creates the pool unless one is already running; returns whether this call created it.
+    private static synchronized boolean configure(int size, int perSearch) {
+        if (pool != null) return false;
+        maxParallelismPerSearch = perSearch > 0 ? Math.min(perSearch, size) : size;
+        pool = newPool(size);
+        return true;
+    }
+
+    private static ForkJoinPool pool() {
+        ForkJoinPool p = pool;
+        if (p == null) {
+            configure(Runtime.getRuntime().availableProcessors(), 0);
+            p = pool;
+        }
+        return p;
+    }
+
+    /**
+     * Visits indexes [0, size) on the search pool. Each leaf task folds its range into its own accumulator,
+     * and results are merged pairwise on the way back up, so visitors never share mutable state.
+     */
+    static <A> A splitOver(int size, Supplier<A> accumulator, ObjIntConsumer<A> visit, BinaryOperator<A> merge) {
+        ForkJoinPool target = pool();
+        int leaves = Math.max(1, Math.min(maxParallelismPerSearch, size));
+        RangeTask<A> task = new RangeTask<>(0, size, leaves, accumulator, visit, merge);
+        // Nested searches already running on a worker fork into the same pool rather than blocking on it.
+        if (Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == target) {
+            return task.invoke();
+        }
+        return target.invoke(task);
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        return new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName("partition-search-" + t.getPoolIndex());
+            t.setDaemon(true);
+            return t;
+        }, null, false);
+    }
+
+    private static final class RangeTask<A> extends RecursiveTask<A> {
+        private final int from;
+        private final int to;
+        private final int parts;
+        private final Supplier<A> accumulator;
+        private final ObjIntConsumer<A> visit;
+        private final BinaryOperator<A> merge;
+
+        RangeTask(int from, int to, int parts, Supplier<A> accumulator, ObjIntConsumer<A> visit,
+                  BinaryOperator<A> merge) {
+            this.from = from;
+            this.to = to;
+            this.parts = parts;
+            this.accumulator = accumulator;
+            this.visit = visit;
+            this.merge = merge;
+        }
+
+        @Override
+        protected A compute() {
+            if (parts == 1) {
+                A acc = accumulator.get();
+                for (int i = from; i < to; i++) visit.accept(acc, i);
+                return acc;
+            }
+            // Ranges are split in proportion to the parts each side gets, so leaves stay even.
+            int leftParts = parts / 2;
+            int mid = from + (int) ((long) (to - from) * leftParts / parts);
+            RangeTask<A> left = new RangeTask<>(from, mid, leftParts, accumulator, visit, merge);
+            RangeTask<A> right = new RangeTask<>(mid, to, parts - leftParts, accumulator, visit, merge);
+            left.fork();
+            A rightResult = right.compute();
+            return merge.apply(left.join(), rightResult);
+        }
+    }
+}
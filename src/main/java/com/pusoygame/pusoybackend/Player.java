@@ -2,31 +2,91 @@ package com.pusoygame.pusoybackend;
 
 import java.util.UUID;
 
-// The Player class represents a single participant in the game.
+/**
+ * The Player class represents a single participant in the game.
+ *
+ * Cards are held packed: the dealt hand and each row are 52-bit card masks (bit Card.getIndex() per card,
+ * UNSET when absent) and the UUID id is two longs, so a seat costs a few dozen bytes. The Hand getters
+ * build a fresh Hand in rank order on every call, which also makes published copies immutable.
+ */
 public class Player {
 
-    private String id;
+    private static final long UNSET = -1L;
+
+    private final long idHigh;
+    private final long idLow;
     private String name;
-    private Hand hand;
+    private boolean ai;
+    private AutoWinChecker.AutoWinType autoWin = AutoWinChecker.AutoWinType.NONE;
+    private long hand = UNSET;
 
-    private Hand frontHand;
-    private Hand middleHand;
-    private Hand backHand;
+    private long frontHand = UNSET;
+    private long middleHand = UNSET;
+    private long backHand = UNSET;
+    // Only set on redacted copies, whose rows are hidden although the seat has submitted them.
+    private boolean rowsHidden;
 
     // Constructor to create a new Player object.
     public Player(String name) {
-        this.id = UUID.randomUUID().toString();
+        this(name, false);
+    }
+
+    public Player(String name, boolean ai) {
+        this(UUID.randomUUID(), name, ai);
+    }
+
+    // Rebuilds a seat from a snapshot, keeping its original id.
+    Player(String id, String name, boolean ai) {
+        this(UUID.fromString(id), name, ai);
+    }
+
+    private Player(UUID id, String name, boolean ai) {
+        this.idHigh = id.getMostSignificantBits();
+        this.idLow = id.getLeastSignificantBits();
+        this.name = name;
+        this.ai = ai;
+    }
+
+    // Copy for a published table view.
+    Player copy() {
+        Player p = new Player(new UUID(idHigh, idLow), name, ai);
+        p.autoWin = autoWin;
+        p.hand = hand;
+        p.frontHand = frontHand;
+        p.middleHand = middleHand;
+        p.backHand = backHand;
+        return p;
+    }
+
+    // Copy of another seat for a viewer before the showdown: no cards, only whether its rows are set.
+    Player redacted() {
+        Player p = new Player(new UUID(idHigh, idLow), name, ai);
+        p.autoWin = autoWin;
+        p.rowsHidden = backHand != UNSET;
+        return p;
+    }
+
+    // Renames a pre-dealt seat and sets who plays it. A seat handed to a human drops the AI's rows unless
+    // they are a declared auto-win.
+    void reseat(String name, boolean ai) {
         this.name = name;
-        this.hand = null;
-        this.frontHand = null;
-        this.middleHand = null;
-        this.backHand = null;
+        if (this.ai && !ai && autoWin == AutoWinChecker.AutoWinType.NONE) {
+            this.frontHand = UNSET;
+            this.middleHand = UNSET;
+            this.backHand = UNSET;
+        }
+        this.ai = ai;
+    }
+
+    // Restores rows without the console logging of setHands.
+    void restoreHands(Hand frontHand, Hand middleHand, Hand backHand) {
+        this.frontHand = maskOf(frontHand);
+        this.middleHand = maskOf(middleHand);
+        this.backHand = maskOf(backHand);
     }
 
     public void setHands(Hand frontHand, Hand middleHand, Hand backHand) {
-        this.frontHand = frontHand;
-        this.middleHand = middleHand;
-        this.backHand = backHand;
+        restoreHands(frontHand, middleHand, backHand);
 
         // Logging builds to console whenever hands are set
         System.out.println("Player: " + name);
@@ -43,30 +103,60 @@ public class Player {
     }
 
     public String getId() {
-        return id;
+        return new UUID(idHigh, idLow).toString();
     }
 
     public String getName() {
         return name;
     }
 
+    public boolean isAi() {
+        return ai;
+    }
+
+    public AutoWinChecker.AutoWinType getAutoWin() {
+        return autoWin;
+    }
+
+    public void setAutoWin(AutoWinChecker.AutoWinType autoWin) {
+        this.autoWin = autoWin;
+    }
+
     public Hand getHand() {
-        return hand;
+        return handOf(hand);
     }
 
     public void setHand(Hand hand) {
-        this.hand = hand;
+        this.hand = maskOf(hand);
     }
 
     public Hand getFrontHand() {
-        return frontHand;
+        return handOf(frontHand);
     }
 
     public Hand getMiddleHand() {
-        return middleHand;
+        return handOf(middleHand);
     }
 
     public Hand getBackHand() {
-        return backHand;
+        return handOf(backHand);
+    }
+
+    // True once the seat has set its rows, also on a redacted copy that hides them.
+    public boolean isSubmitted() {
+        return rowsHidden || backHand != UNSET;
+    }
+
+    // The dealt cards as a card mask, without building a Hand; 0 before the deal.
+    long handMask() {
+        return hand == UNSET ? 0 : hand;
+    }
+
+    private static long maskOf(Hand hand) {
+        return hand != null ? Hand.maskOf(hand.getCards()) : UNSET;
+    }
+
+    private static Hand handOf(long mask) {
+        return mask != UNSET ? new Hand(Hand.cardsOf(mask)) : null;
     }
 }
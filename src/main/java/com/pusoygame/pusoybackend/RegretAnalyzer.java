@@ -0,0 +1,163 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Post-round regret analysis for human seats. Once a table has been through its showdown, each human seat's
+ * submitted rows are compared with AIHandBuilder's best partition and the top suggestions of the same cards,
+ * each priced with ScoringEngine against the opponents' actual rows.
+ *
+ * The work runs on its own small executor, off the request path, and the reports are attached to the round
+ * through the table's actor (Game.getRegret), so clients see them on a later poll. Analysis is best effort:
+ * when the queue is full the round is skipped, and a report is dropped if the table has dealt again by the
+ * time it is ready.
+ *
+ * Metrics: pusoy.regret.analysis and pusoy.regret.dropped.
+ */
+@Component
+public class RegretAnalyzer {
+
+    // Suggestions priced next to the AI's best partition.
+    static final int ALTERNATIVES = 3;
+
+    private final ScoringEngine scoring;
+    private final ThreadPoolExecutor executor;
+    private final Timer analysisTime;
+    private final Counter dropped;
+
+    public RegretAnalyzer(ScoringEngine scoring, MeterRegistry meters,
+                          @Value("${pusoy.regret.concurrency:1}") int concurrency,
+                          @Value("${pusoy.regret.queue-capacity:256}") int queueCapacity) {
+        this.scoring = scoring;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "regret-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.analysisTime = Timer.builder("pusoy.regret.analysis").publishPercentiles(0.5, 0.99).register(meters);
+        this.dropped = Counter.builder("pusoy.regret.dropped").register(meters);
+    }
+
+    /**
+     * Queues analysis of the table's current round if it has been scored. Returns at once.
+     */
+    public void analyzeLater(TableActor table) {
+        Game round = table.view().game();
+        if (round.getPhase() != Game.Phase.SHOWDOWN || round.scoresBySeat() == null) return;
+        try {
+            executor.execute(() -> analysisTime.record(() -> analyzeAndAttach(table, round)));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    private void analyzeAndAttach(TableActor table, Game round) {
+        Map<RegretReport, Long> reports = new LinkedHashMap<>();
+        List<Player> players = round.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player p = players.get(seat);
+            // Declared auto-wins were never arranged by the player, so there is nothing to regret.
+            if (p.isAi() || p.getBackHand() == null || p.getAutoWin() != AutoWinChecker.AutoWinType.NONE
+                    || round.getRegret().containsKey(p.getId())) {
+                continue;
+            }
+            reports.put(analyze(round, seat), p.handMask());
+        }
+        if (reports.isEmpty()) return;
+
+        table.ask(game -> {
+            reports.forEach((report, dealt) -> {
+                Player p = game.findPlayer(report.getPlayerId());
+                if (game.getPhase() == Game.Phase.SHOWDOWN && p != null
+                        && p.handMask() == dealt) {
+                    game.attachRegret(report);
+                } else {
+                    dropped.increment();
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Regret of one seat in a scored round. Reads the game without modifying it.
+     */
+    public RegretReport analyze(Game round, int seat) {
+        long start = System.nanoTime();
+        Player player = round.getPlayers().get(seat);
+        List<Card> front = player.getFrontHand().getCards();
+        List<Card> middle = player.getMiddleHand().getCards();
+        List<Card> back = player.getBackHand().getCards();
+        int actualPoints = round.scoresBySeat()[seat];
+
+        List<ArrangementSuggestion> candidates = new ArrayList<>();
+        Partition best = AIHandBuilder.buildBestPartition(player.getHand().getCards());
+        if (best != null) {
+            candidates.add(new ArrangementSuggestion(best.front, best.middle, best.back,
+                    HandEvaluator.evaluateStrength(best.front), HandEvaluator.evaluateStrength(best.middle),
+                    HandEvaluator.evaluateStrength(best.back)));
+        }
+        for (ArrangementSuggestion s : round.suggestArrangements(player, ALTERNATIVES)) {
+            if (candidates.stream().noneMatch(c -> sameRows(c, s))) candidates.add(s);
+        }
+
+        List<RegretReport.Alternative> alternatives = new ArrayList<>(candidates.size());
+        for (ArrangementSuggestion c : candidates) {
+            int points = scoring.scoreSeatWith(round, seat, c.getFrontHand(), c.getMiddleHand(), c.getBackHand());
+            alternatives.add(new RegretReport.Alternative(c, points));
+        }
+        alternatives.sort(Comparator.comparingInt(RegretReport.Alternative::getPoints).reversed());
+
+        // The submission is its own benchmark unless an alternative scores more, so regret is never negative.
+        List<Card> bestFront = front, bestMiddle = middle, bestBack = back;
+        int bestPoints = actualPoints;
+        if (!alternatives.isEmpty() && alternatives.get(0).getPoints() > actualPoints) {
+            ArrangementSuggestion top = alternatives.get(0).getArrangement();
+            bestFront = top.getFrontHand();
+            bestMiddle = top.getMiddleHand();
+            bestBack = top.getBackHand();
+            bestPoints = alternatives.get(0).getPoints();
+        }
+
+        return new RegretReport(player.getId(), actualPoints, bestPoints,
+                RowPercentiles.winRate(bestFront) - RowPercentiles.winRate(front),
+                RowPercentiles.winRate(bestMiddle) - RowPercentiles.winRate(middle),
+                RowPercentiles.winRate(bestBack) - RowPercentiles.winRate(back),
+                AIHandBuilder.estimateEquity(front, middle, back),
+                AIHandBuilder.estimateEquity(bestFront, bestMiddle, bestBack),
+                List.copyOf(alternatives),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static boolean sameRows(ArrangementSuggestion a, ArrangementSuggestion b) {
+        return a.getFrontHand().equals(b.getFrontHand()) && a.getMiddleHand().equals(b.getMiddleHand())
+                && a.getBackHand().equals(b.getBackHand());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.List;
+
+/**
+ * Post-round analysis of one human seat: what its submitted rows scored against the table, and what the
+ * best alternative arrangement of the same 13 cards would have scored against the same opponents.
+ *
+ * Row deltas are RowPercentiles win rates (best minus submitted), so a positive delta means the alternative
+ * row beats a random row of its size more often; pointRegret is never negative.
+ */
+public class RegretReport {
+
+    // One priced alternative: an arrangement and the net points it would have scored this round.
+    public static class Alternative {
+
+        private final ArrangementSuggestion arrangement;
+        private final int points;
+
+        public Alternative(ArrangementSuggestion arrangement, int points) {
+            this.arrangement = arrangement;
+            this.points = points;
+        }
+
+        public ArrangementSuggestion getArrangement() {
+            return arrangement;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+    }
+
+    private final String playerId;
+    private final int actualPoints;
+    private final int bestPoints;
+    private final double frontDelta;
+    private final double middleDelta;
+    private final double backDelta;
+    private final double submittedEquity;
+    private final double bestEquity;
+    private final List<Alternative> alternatives;
+    private final long elapsedMs;
+
+    public RegretReport(String playerId, int actualPoints, int bestPoints,
+                        double frontDelta, double middleDelta, double backDelta,
+                        double submittedEquity, double bestEquity,
+                        List<Alternative> alternatives, long elapsedMs) {
+        this.playerId = playerId;
+        this.actualPoints = actualPoints;
+        this.bestPoints = bestPoints;
+        this.frontDelta = frontDelta;
+        this.middleDelta = middleDelta;
+        this.backDelta = backDelta;
+        this.submittedEquity = submittedEquity;
+        this.bestEquity = bestEquity;
+        this.alternatives = alternatives;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public int getActualPoints() {
+        return actualPoints;
+    }
+
+    public int getBestPoints() {
+        return bestPoints;
+    }
+
+    // Points left on the table: bestPoints - actualPoints, or 0 when the submission did at least as well.
+    public int getPointRegret() {
+        return Math.max(0, bestPoints - actualPoints);
+    }
+
+    public double getFrontDelta() {
+        return frontDelta;
+    }
+
+    public double getMiddleDelta() {
+        return middleDelta;
+    }
+
+    public double getBackDelta() {
+        return backDelta;
+    }
+
+    public double getSubmittedEquity() {
+        return submittedEquity;
+    }
+
+    public double getBestEquity() {
+        return bestEquity;
+    }
+
+    // The AI's best partition and the top suggestions, most points first.
+    public List<Alternative> getAlternatives() {
+        return alternatives;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.List;
+
+/**
+ * Precomputed win rates of single rows: for any 3-card front or 5-card middle/back, the chance that it beats
+ * a uniformly random hand of the same size (ties count half), in the order HandEvaluator.compareHands uses.
+ *
+ * The tables are keyed exactly like HandTables, so a query is the same few array reads as a strength lookup.
+ * They ignore card removal (the opponent's row is drawn from a full deck), which is what makes them a
+ * constant-time approximation; EquityCalculator gives the exact figures for a concrete deal.
+ */
+public class RowPercentiles {
+
+    // Stored values are win rates in parts per SCALE.
+    public static final int SCALE = 1_000_000;
+
+    private static final int[] FLUSH5;
+    private static final int[] UNIQUE5;
+    private static final int[] MULTI5;
+    private static final int[] MULTI3;
+
+    static {
+        int[][] tables = HandTables.load(HandTablesGenerator.PERCENTILE_RESOURCE, HandTablesGenerator.PERCENTILE_MAGIC,
+                () -> HandTablesGenerator.computePercentiles(
+                        new int[][]{HandTables.FLUSH5, HandTables.UNIQUE5, HandTables.MULTI5, HandTables.MULTI3}));
+        FLUSH5 = tables[0];
+        UNIQUE5 = tables[1];
+        MULTI5 = tables[2];
+        MULTI3 = tables[3];
+    }
+
+    // Win rate in [0, 1] of a 3- or 5-card row against a random row of the same size.
+    public static double winRate(List<Card> row) {
+        int ppm = row.size() == 5
+                ? winRate5(row.get(0).getIndex(), row.get(1).getIndex(), row.get(2).getIndex(),
+                        row.get(3).getIndex(), row.get(4).getIndex())
+                : winRate3(row.get(0).getIndex(), row.get(1).getIndex(), row.get(2).getIndex());
+        return ppm / (double) SCALE;
+    }
+
+    // Card indexes as in Card.getIndex(); results in parts per SCALE.
+    public static int winRate5(int c0, int c1, int c2, int c3, int c4) {
+        return HandTables.lookup5(FLUSH5, UNIQUE5, MULTI5, c0, c1, c2, c3, c4);
+    }
+
+    public static int winRate3(int c0, int c1, int c2) {
+        return HandTables.lookup3(MULTI3, c0, c1, c2);
+    }
+}
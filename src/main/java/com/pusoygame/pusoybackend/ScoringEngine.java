@@ -0,0 +1,158 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Scores a finished round from ScoringRules. Every pair of seats is settled independently and the
+ * result is each seat's net points, so the scores of a round always sum to zero.
+ *
+ * Per pair: an auto-win beats any arrangement (the higher auto-win wins when both hold one, equal ones push);
+ * a fouled or unset arrangement loses every row plus the scoop and foul penalty; otherwise each row is worth
+ * rowPoints plus the winning row's bonus, and winning all three adds the scoop bonus.
+ *
+ * Bonuses are resolved into arrays indexed by HandRank / AutoWinType ordinal once at startup, and each
+ * seat's rows are evaluated once, so scoring a round is a few integer operations per pair.
+ */
+@Component
+public class ScoringEngine {
+
+    private static final int FRONT = 0, MIDDLE = 1, BACK = 2;
+
+    private final int rowPoints;
+    private final int scoopBonus;
+    private final int foulPenalty;
+    private final int[][] rowBonus = new int[3][];
+    private final int[] autoWinPayout;
+
+    public ScoringEngine(ScoringRules rules) {
+        this.rowPoints = rules.getRowPoints();
+        this.scoopBonus = rules.getScoopBonus();
+        this.foulPenalty = rules.getFoulPenalty();
+        rowBonus[FRONT] = table(rules.getFrontBonus(), HandEvaluator.HandRank.values().length);
+        rowBonus[MIDDLE] = table(rules.getMiddleBonus(), HandEvaluator.HandRank.values().length);
+        rowBonus[BACK] = table(rules.getBackBonus(), HandEvaluator.HandRank.values().length);
+        autoWinPayout = table(rules.getAutoWin(), AutoWinChecker.AutoWinType.values().length);
+    }
+
+    private static <E extends Enum<E>> int[] table(Map<E, Integer> bonuses, int size) {
+        int[] t = new int[size];
+        bonuses.forEach((k, v) -> t[k.ordinal()] = v);
+        return t;
+    }
+
+    /**
+     * Returns the net points of every seat, in seat order.
+     */
+    public int[] scoreRound(Game game) {
+        return settleAll(game).getNetPoints();
+    }
+
+    /**
+     * Settles every pair of seats, for any number of seats and any mix of humans and AI. Each seat's rows are
+     * evaluated once; every pairwise row comparison and payment is then read off those strengths.
+     */
+    public ShowdownMatrix settleAll(Game game) {
+        List<Player> players = game.getPlayers();
+        int n = players.size();
+        List<String> ids = new ArrayList<>(n);
+        int[][] strength = new int[n][];
+        int[] autoWin = new int[n];
+        boolean[] fouled = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Player p = players.get(i);
+            ids.add(p.getId());
+            autoWin[i] = p.getAutoWin().ordinal();
+            strength[i] = rowStrengths(game, p.getFrontHand(), p.getMiddleHand(), p.getBackHand());
+            fouled[i] = strength[i] == null;
+        }
+
+        int[][][] rows = new int[3][n][n];
+        int[][] points = new int[n][n];
+        boolean[][] byAutoWin = new boolean[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (autoWin[i] != 0 || autoWin[j] != 0) {
+                    byAutoWin[i][j] = byAutoWin[j][i] = true;
+                } else {
+                    for (int row = FRONT; row <= BACK; row++) {
+                        int outcome = rowOutcome(strength[i], strength[j], row);
+                        rows[row][i][j] = outcome;
+                        rows[row][j][i] = -outcome;
+                    }
+                }
+                int delta = settle(strength[i], strength[j], autoWin[i], autoWin[j]);
+                points[i][j] = delta;
+                points[j][i] = -delta;
+            }
+        }
+        return new ShowdownMatrix(List.copyOf(ids), rows[FRONT], rows[MIDDLE], rows[BACK], points, byAutoWin, fouled);
+    }
+
+    // 1, 0 or -1 from a's side; a valid arrangement wins every row against a fouled one.
+    private static int rowOutcome(int[] a, int[] b, int row) {
+        if (a == null || b == null) return a == b ? 0 : (a == null ? -1 : 1);
+        return Integer.compare(a[row], b[row]);
+    }
+
+    /**
+     * Net points the seat would have scored with the given rows in place of its own, every other seat as it
+     * stands. Rows are evaluated on copies, so this is safe on a published TableActor view.
+     */
+    public int scoreSeatWith(Game game, int seat, List<Card> front, List<Card> middle, List<Card> back) {
+        List<Player> players = game.getPlayers();
+        int[] rows = rowStrengths(game, new Hand(new ArrayList<>(front)), new Hand(new ArrayList<>(middle)),
+                new Hand(new ArrayList<>(back)));
+        int autoWin = players.get(seat).getAutoWin().ordinal();
+        int net = 0;
+        for (int j = 0; j < players.size(); j++) {
+            if (j == seat) continue;
+            Player p = players.get(j);
+            int[] other = rowStrengths(game, p.getFrontHand(), p.getMiddleHand(), p.getBackHand());
+            net += settle(rows, other, autoWin, p.getAutoWin().ordinal());
+        }
+        return net;
+    }
+
+    // Points seat a wins from seat b (negative when b wins).
+    private int settle(int[] a, int[] b, int autoWinA, int autoWinB) {
+        if (autoWinA != 0 || autoWinB != 0) {
+            if (autoWinA == autoWinB) return 0;
+            return autoWinA > autoWinB ? autoWinPayout[autoWinA] : -autoWinPayout[autoWinB];
+        }
+        if (a == null || b == null) {
+            if (a == b) return 0;
+            int fouled = 3 * rowPoints + scoopBonus + foulPenalty;
+            return a == null ? -fouled : fouled;
+        }
+
+        // A strength's top bits are its HandRank ordinal, which indexes the bonus tables directly.
+        int points = 0, rowsA = 0, rowsB = 0;
+        for (int row = FRONT; row <= BACK; row++) {
+            if (a[row] > b[row]) {
+                points += rowPoints + rowBonus[row][a[row] >>> 20];
+                rowsA++;
+            } else if (a[row] < b[row]) {
+                points -= rowPoints + rowBonus[row][b[row] >>> 20];
+                rowsB++;
+            }
+        }
+        if (rowsA == 3) points += scoopBonus;
+        if (rowsB == 3) points -= scoopBonus;
+        return points;
+    }
+
+    // {front, middle, back} strengths, or null for an unset or fouled arrangement.
+    private static int[] rowStrengths(Game game, Hand front, Hand middle, Hand back) {
+        if (front == null || middle == null || back == null) return null;
+        if (game.checkFoul(front, middle, back)) return null;
+        return new int[]{
+                HandEvaluator.evaluateStrength(front),
+                HandEvaluator.evaluateStrength(middle),
+                HandEvaluator.evaluateStrength(back)
+        };
+    }
+}
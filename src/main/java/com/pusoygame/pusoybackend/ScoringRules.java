@@ -0,0 +1,87 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scoring rules bound from pusoy.scoring.* in application.properties.
+ * Bonus maps are keyed by row category or auto-win type; anything not listed is worth 0.
+ */
+@Component
+@ConfigurationProperties(prefix = "pusoy.scoring")
+public class ScoringRules {
+
+    // Points for winning a single row against one opponent.
+    private int rowPoints = 1;
+    // Extra points for winning all three rows against one opponent.
+    private int scoopBonus = 3;
+    // Extra points a fouled seat pays each opponent, on top of losing every row.
+    private int foulPenalty = 3;
+
+    // Paid by the loser of a row on top of rowPoints, by the winning row's category.
+    private Map<HandEvaluator.HandRank, Integer> frontBonus = new EnumMap<>(HandEvaluator.HandRank.class);
+    private Map<HandEvaluator.HandRank, Integer> middleBonus = new EnumMap<>(HandEvaluator.HandRank.class);
+    private Map<HandEvaluator.HandRank, Integer> backBonus = new EnumMap<>(HandEvaluator.HandRank.class);
+
+    // Paid by every opponent to a seat holding an auto-win.
+    private Map<AutoWinChecker.AutoWinType, Integer> autoWin = new EnumMap<>(AutoWinChecker.AutoWinType.class);
+
+    public int getRowPoints() {
+        return rowPoints;
+    }
+
+    public void setRowPoints(int rowPoints) {
+        this.rowPoints = rowPoints;
+    }
+
+    public int getScoopBonus() {
+        return scoopBonus;
+    }
+
+    public void setScoopBonus(int scoopBonus) {
+        this.scoopBonus = scoopBonus;
+    }
+
+    public int getFoulPenalty() {
+        return foulPenalty;
+    }
+
+    public void setFoulPenalty(int foulPenalty) {
+        this.foulPenalty = foulPenalty;
+    }
+
+    public Map<HandEvaluator.HandRank, Integer> getFrontBonus() {
+        return frontBonus;
+    }
+
+    public void setFrontBonus(Map<HandEvaluator.HandRank, Integer> frontBonus) {
+        this.frontBonus = frontBonus;
+    }
+
+    public Map<HandEvaluator.HandRank, Integer> getMiddleBonus() {
+        return middleBonus;
+    }
+
+    public void setMiddleBonus(Map<HandEvaluator.HandRank, Integer> middleBonus) {
+        this.middleBonus = middleBonus;
+    }
+
+    public Map<HandEvaluator.HandRank, Integer> getBackBonus() {
+        return backBonus;
+    }
+
+    public void setBackBonus(Map<HandEvaluator.HandRank, Integer> backBonus) {
+        this.backBonus = backBonus;
+    }
+
+    public Map<AutoWinChecker.AutoWinType, Integer> getAutoWin() {
+        return autoWin;
+    }
+
+    public void setAutoWin(Map<AutoWinChecker.AutoWinType, Integer> autoWin) {
+        this.autoWin = autoWin;
+    }
+}
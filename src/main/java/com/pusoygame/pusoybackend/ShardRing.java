@@ -0,0 +1,51 @@
+package com.pusoygame.pusoybackend;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping table ids to node base URLs.
+ * Each node is placed at several virtual points so tables spread evenly and a membership change
+ * only moves the tables whose arc changed owner.
+ */
+public class ShardRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    public ShardRing(List<String> nodes, int virtualNodes) {
+        this.nodes = List.copyOf(nodes);
+        for (String node : this.nodes) {
+            for (int v = 0; v < virtualNodes; v++) {
+                ring.put(hash(node + "#" + v), node);
+            }
+        }
+    }
+
+    public String ownerOf(String tableId) {
+        if (ring.isEmpty()) return null;
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(tableId));
+        return e != null ? e.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    // First 8 bytes of MD5: well spread and identical on every node, so all nodes agree on owners.
+    private static long hash(String key) {
+        try {
+            byte[] d = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) h = (h << 8) | (d[i] & 0xff);
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
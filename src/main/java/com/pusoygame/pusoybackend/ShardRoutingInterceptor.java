@@ -0,0 +1,41 @@
+package com.pusoygame.pusoybackend;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Redirects /tables/{tableId}/** requests for tables owned by, or already handed off to, another node.
+ * 307 keeps the method and body, so POST /tables/{id}/set-hands is replayed against the owner.
+ */
+@Component
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+
+    private static final String PREFIX = "/tables/";
+
+    private final ClusterMembership cluster;
+
+    public ShardRoutingInterceptor(ClusterMembership cluster) {
+        this.cluster = cluster;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PREFIX)) return true;
+
+        int end = path.indexOf('/', PREFIX.length());
+        String tableId = end < 0 ? path.substring(PREFIX.length()) : path.substring(PREFIX.length(), end);
+        if (tableId.isEmpty()) return true;
+        String owner = cluster.redirectFor(tableId);
+        if (owner == null) return true;
+
+        String location = owner + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+        response.setHeader("Location", location);
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.List;
+
+/**
+ * Every pairwise result of a showdown, indexed [seat][opponent] in seat order.
+ *
+ * front/middle/back hold the row outcome from the first seat's side: 1 won, -1 lost, 0 tied or not compared.
+ * Rows are not compared for pairs settled by an auto-win; against a fouled or unset arrangement the valid
+ * side wins every row. points[i][j] is what seat i takes from seat j, so points[i][j] == -points[j][i] and
+ * each seat's net points are its row sum.
+ */
+public class ShowdownMatrix {
+
+    private final List<String> playerIds;
+    private final int[][] front;
+    private final int[][] middle;
+    private final int[][] back;
+    private final int[][] points;
+    private final boolean[][] settledByAutoWin;
+    private final boolean[] fouled;
+
+    ShowdownMatrix(List<String> playerIds, int[][] front, int[][] middle, int[][] back, int[][] points,
+                   boolean[][] settledByAutoWin, boolean[] fouled) {
+        this.playerIds = playerIds;
+        this.front = front;
+        this.middle = middle;
+        this.back = back;
+        this.points = points;
+        this.settledByAutoWin = settledByAutoWin;
+        this.fouled = fouled;
+    }
+
+    public List<String> getPlayerIds() {
+        return playerIds;
+    }
+
+    public int[][] getFront() {
+        return front;
+    }
+
+    public int[][] getMiddle() {
+        return middle;
+    }
+
+    public int[][] getBack() {
+        return back;
+    }
+
+    public int[][] getPoints() {
+        return points;
+    }
+
+    public boolean[][] getSettledByAutoWin() {
+        return settledByAutoWin;
+    }
+
+    // True for a seat whose arrangement fouled or was never set.
+    public boolean[] getFouled() {
+        return fouled;
+    }
+
+    public int[] getNetPoints() {
+        int[] net = new int[points.length];
+        for (int i = 0; i < points.length; i++) {
+            for (int p : points[i]) net[i] += p;
+        }
+        return net;
+    }
+}
@@ -0,0 +1,96 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically snapshots every live table to disk and restores them at startup, so restarts and
+ * rolling deploys keep in-progress rounds.
+ *
+ * Tables are encoded one at a time from their published TableActor views, so request handling is never
+ * paused; the file is written to a temporary sibling and atomically moved into place.
+ */
+@Component
+public class SnapshotService {
+
+    private final TableRegistry tables;
+
+    @Value("${pusoy.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${pusoy.snapshot.path:data/tables.snapshot}")
+    private String path;
+
+    public SnapshotService(TableRegistry tables) {
+        this.tables = tables;
+    }
+
+    // Runs before the web server starts accepting requests.
+    @PostConstruct
+    public void restore() {
+        Path file = Paths.get(path);
+        if (!enabled || !Files.exists(file)) return;
+
+        long start = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            Map<String, Game> restored = GameSnapshotCodec.readSnapshot(in);
+            restored.forEach(tables::put);
+            System.out.println("Restored " + restored.size() + " tables from " + file
+                    + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring unreadable table snapshot " + file + ": " + e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pusoy.snapshot.interval-ms:30000}",
+            initialDelayString = "${pusoy.snapshot.interval-ms:30000}")
+    public void snapshot() {
+        if (!enabled) return;
+
+        long start = System.nanoTime();
+        List<byte[]> records = new ArrayList<>(tables.size());
+        for (Map.Entry<String, TableActor> e : tables.snapshot().entrySet()) {
+            // Handed off and about to be dropped; the new owner snapshots it now.
+            if (e.getValue().movedTo() != null) continue;
+            records.add(GameSnapshotCodec.encodeTable(e.getKey(), e.getValue().view().game()));
+        }
+
+        Path file = Paths.get(path);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+                GameSnapshotCodec.writeSnapshot(out, records);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Table snapshot to " + file + " failed: " + e);
+            return;
+        }
+        System.out.println("Snapshotted " + records.size() + " tables in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+}
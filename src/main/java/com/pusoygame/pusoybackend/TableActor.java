@@ -0,0 +1,215 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * TableActor is the single writer of one table's Game.
+ *
+ * Commands are queued on a lock-free mailbox and applied one at a time, in arrival order, on a virtual
+ * thread that only exists while there is work. After every command the actor publishes a deep copy of the
+ * game with a new version number; readers (JSON responses, snapshots, handoff) only ever see published
+ * views, which are never mutated, so no lock is taken on the request path.
+ */
+public class TableActor {
+
+    /**
+     * An immutable published state of the table; version increases by one per applied command.
+     * The ETag combines the version with a per-actor epoch, so a table recreated after a restart or handoff
+     * never reuses a tag, and the JSON form is serialised at most once per version.
+     *
+     * Until the showdown, per-seat readers get a redacted form instead (see Game.redactedFor), cached per
+     * viewer seat with its own tag, so one seat's cached bytes or 304 are never served to another.
+     */
+    public static final class View {
+        private final long version;
+        private final Game game;
+        private final String etag;
+        private final long publishedAt = System.currentTimeMillis();
+        private volatile byte[] json;
+        // Redacted JSON by viewer seat index, -1 for a viewer not seated here; at most seats + 1 entries.
+        private final Map<Integer, byte[]> seatJson = new ConcurrentHashMap<>();
+
+        View(long version, Game game, String epoch) {
+            this.version = version;
+            this.game = game;
+            this.etag = "\"" + epoch + "." + version + "\"";
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public Game game() {
+            return game;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        // Wall-clock time this view was published, in epoch milliseconds.
+        public long publishedAt() {
+            return publishedAt;
+        }
+
+        // Racing first readers may both serialise; they produce the same bytes, so either copy may win.
+        public byte[] json(ObjectMapper mapper) {
+            byte[] bytes = json;
+            if (bytes == null) {
+                bytes = serialise(game, mapper);
+                json = bytes;
+            }
+            return bytes;
+        }
+
+        // The tag a given viewer's form carries; the shared one once the round is settled.
+        public String etagFor(String viewerId) {
+            if (game.getPhase() == Game.Phase.SHOWDOWN) return etag;
+            return etag.substring(0, etag.length() - 1) + ".s" + seatOf(viewerId) + "\"";
+        }
+
+        public byte[] jsonFor(String viewerId, ObjectMapper mapper) {
+            if (game.getPhase() == Game.Phase.SHOWDOWN) return json(mapper);
+            int seat = seatOf(viewerId);
+            return seatJson.computeIfAbsent(seat,
+                    s -> serialise(game.redactedFor(s >= 0 ? viewerId : null), mapper));
+        }
+
+        private int seatOf(String viewerId) {
+            List<Player> seats = game.getPlayers();
+            for (int i = 0; i < seats.size(); i++) {
+                if (seats.get(i).getId().equals(viewerId)) return i;
+            }
+            return -1;
+        }
+
+        private static byte[] serialise(Game game, ObjectMapper mapper) {
+            try {
+                return mapper.writeValueAsBytes(game);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final String tableId;
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // Owned by the draining thread; never handed out.
+    private Game game;
+    private volatile View view;
+    // Base URL of the node this table was handed off to; set once, by the handoff command itself.
+    private volatile String movedTo;
+
+    public TableActor(String tableId, Game game) {
+        this.tableId = tableId;
+        this.game = game;
+        this.view = new View(0, game.copy(), epoch);
+    }
+
+    public String getTableId() {
+        return tableId;
+    }
+
+    public View view() {
+        return view;
+    }
+
+    // The node now serving this table, or null while it lives here.
+    public String movedTo() {
+        return movedTo;
+    }
+
+    /**
+     * Queues a command against the live game. The future completes with its result after the resulting
+     * state has been published, so view() is at least that new by then.
+     */
+    public <T> CompletableFuture<T> ask(Function<Game, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.add(() -> {
+            if (movedTo != null) {
+                result.completeExceptionally(new TableMovedException(tableId, movedTo));
+                return;
+            }
+            try {
+                T value = command.apply(game);
+                publish();
+                result.complete(value);
+            } catch (Throwable e) {
+                // Errors too (StackOverflowError, AssertionError, ...): the caller must not wait forever. The
+                // command may have changed the game before failing; publish whatever it left behind.
+                try {
+                    publish();
+                } finally {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+        if (draining.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("table-" + tableId).start(this::drain);
+        }
+        return result;
+    }
+
+    // Swaps in a freshly dealt game, keeping this actor (and its version sequence) for the table.
+    public CompletableFuture<View> replace(Game next) {
+        return ask(current -> {
+            game = next;
+            return null;
+        }).thenApply(ignored -> view);
+    }
+
+    /**
+     * Hands the table off as one command: transfer sees the live game with nothing queued ahead of it, and
+     * once it reports success every later command fails with TableMovedException instead of changing a game
+     * the new owner no longer sees. Completes with false, and the table stays here, if the transfer fails.
+     */
+    public CompletableFuture<Boolean> moveTo(String owner, Predicate<Game> transfer) {
+        return ask(current -> {
+            if (!transfer.test(current)) return false;
+            movedTo = owner;
+            return true;
+        });
+    }
+
+    private void drain() {
+        do {
+            try {
+                for (Runnable command; (command = mailbox.poll()) != null; ) runQuietly(command);
+            } finally {
+                // Whatever escaped, later commands must still be able to start a drain thread.
+                draining.set(false);
+            }
+            // A command added between the last poll and the reset saw draining == true and did not start a thread.
+        } while (!mailbox.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    // A command already completes its own future; anything it still throws (e.g. publish failing) must not
+    // stop the commands queued behind it.
+    private void runQuietly(Runnable command) {
+        try {
+            command.run();
+        } catch (Throwable e) {
+            System.out.println("Table " + tableId + " command failed after completing: " + e);
+        }
+    }
+
+    private void publish() {
+        view = new View(view.version() + 1, game.copy(), epoch);
+    }
+}
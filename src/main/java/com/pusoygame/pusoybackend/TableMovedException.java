@@ -0,0 +1,16 @@
+package com.pusoygame.pusoybackend;
+
+// Thrown for commands queued on a table after it was handed off; the client is redirected to the new owner.
+public class TableMovedException extends RuntimeException {
+
+    private final String owner;
+
+    public TableMovedException(String tableId, String owner) {
+        super("Table " + tableId + " moved to " + owner);
+        this.owner = owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,79 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * TableRegistry holds every live table on this node, keyed by table id, each driven by its own TableActor.
+ * The frontend's table uses DEFAULT_TABLE; lobby tables get generated ids.
+ */
+@Component
+public class TableRegistry {
+
+    public static final String DEFAULT_TABLE = "default";
+
+    private final Map<String, TableActor> tables = new ConcurrentHashMap<>();
+
+    public TableActor get(String tableId) {
+        return tables.get(tableId);
+    }
+
+    /**
+     * Returns the table, creating it with the factory if it does not exist. The factory runs outside the map
+     * (it may wait seconds on the AI queue or throw), so racing callers may each build a game; only the first
+     * one installed is kept.
+     */
+    public TableActor getOrCreate(String tableId, Supplier<Game> factory) {
+        TableActor existing = tables.get(tableId);
+        if (existing != null) return existing;
+        TableActor created = new TableActor(tableId, factory.get());
+        existing = tables.putIfAbsent(tableId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Installs a game under the given id. An existing table keeps its actor and receives the game as a
+     * command, so it is ordered after anything already queued; returns once the game is published.
+     * The caller must not touch the game afterwards.
+     */
+    public TableActor put(String tableId, Game game) {
+        TableActor created = new TableActor(tableId, game);
+        TableActor existing = tables.putIfAbsent(tableId, created);
+        if (existing == null) return created;
+        existing.replace(game).join();
+        return existing;
+    }
+
+    // Registers a new table under a fresh id and returns that id.
+    public String add(Game game) {
+        String tableId = UUID.randomUUID().toString();
+        tables.put(tableId, new TableActor(tableId, game));
+        return tableId;
+    }
+
+    public TableActor remove(String tableId) {
+        return tables.remove(tableId);
+    }
+
+    // Removes the table only if it is still driven by the given actor.
+    public boolean remove(String tableId, TableActor table) {
+        return tables.remove(tableId, table);
+    }
+
+    public Map<String, TableActor> snapshot() {
+        return Map.copyOf(tables);
+    }
+
+    public Collection<String> tableIds() {
+        return tables.keySet();
+    }
+
+    public int size() {
+        return tables.size();
+    }
+}
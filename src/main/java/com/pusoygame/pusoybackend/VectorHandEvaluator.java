@@ -0,0 +1,103 @@
+package com.pusoygame.pusoybackend;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD path of BatchHandEvaluator using the incubating Vector API; one hand per lane.
+ * Only loaded when jdk.incubator.vector is present, so the class never links without the module.
+ *
+ * Per lane: the five cards are unpacked with shifts and masks, the flush test compares every suit with
+ * the first, and the ranks are sorted with a 9-comparator min/max network. Flushes (always five distinct
+ * ranks) are gathered from FLUSH5 by rank mask; everything else, straights included, is gathered from
+ * MULTI5 by rank-multiset index, whose binomial terms come from small gathered tables.
+ */
+final class VectorHandEvaluator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // CHOOSE_K[n] = C(n, k) for the multiset index: sum over i of C(rank_i + i, i + 1).
+    private static final int[] CHOOSE_3 = new int[18];
+    private static final int[] CHOOSE_4 = new int[18];
+    private static final int[] CHOOSE_5 = new int[18];
+    static {
+        for (int n = 0; n < 18; n++) {
+            CHOOSE_3[n] = n * (n - 1) * (n - 2) / 6;
+            CHOOSE_4[n] = CHOOSE_3[n] * (n - 3) / 4;
+            CHOOSE_5[n] = CHOOSE_4[n] * (n - 4) / 5;
+        }
+        CHOOSE_4[0] = CHOOSE_4[1] = CHOOSE_4[2] = CHOOSE_4[3] = 0;
+        CHOOSE_5[0] = CHOOSE_5[1] = CHOOSE_5[2] = CHOOSE_5[3] = CHOOSE_5[4] = 0;
+    }
+
+    private VectorHandEvaluator() {
+    }
+
+    static void evaluate(int[] hands, int[] strengths, int count) {
+        int lanes = SPECIES.length();
+        int[] scratch = new int[lanes];
+        int[] gathered = new int[lanes];
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            IntVector h = IntVector.fromArray(SPECIES, hands, i);
+
+            IntVector c0 = h.and(63);
+            IntVector c1 = h.lanewise(VectorOperators.LSHR, 6).and(63);
+            IntVector c2 = h.lanewise(VectorOperators.LSHR, 12).and(63);
+            IntVector c3 = h.lanewise(VectorOperators.LSHR, 18).and(63);
+            IntVector c4 = h.lanewise(VectorOperators.LSHR, 24).and(63);
+
+            IntVector s0 = c0.and(3);
+            VectorMask<Integer> flush = c1.and(3).eq(s0)
+                    .and(c2.and(3).eq(s0))
+                    .and(c3.and(3).eq(s0))
+                    .and(c4.and(3).eq(s0));
+
+            IntVector r0 = c0.lanewise(VectorOperators.LSHR, 2);
+            IntVector r1 = c1.lanewise(VectorOperators.LSHR, 2);
+            IntVector r2 = c2.lanewise(VectorOperators.LSHR, 2);
+            IntVector r3 = c3.lanewise(VectorOperators.LSHR, 2);
+            IntVector r4 = c4.lanewise(VectorOperators.LSHR, 2);
+
+            // Rank histogram as a bit mask; only meaningful for flush lanes, where all ranks differ.
+            IntVector one = IntVector.broadcast(SPECIES, 1);
+            IntVector rankMask = one.lanewise(VectorOperators.LSHL, r0)
+                    .or(one.lanewise(VectorOperators.LSHL, r1))
+                    .or(one.lanewise(VectorOperators.LSHL, r2))
+                    .or(one.lanewise(VectorOperators.LSHL, r3))
+                    .or(one.lanewise(VectorOperators.LSHL, r4));
+
+            // Optimal 5-element sorting network: (0,1)(3,4)(2,4)(2,3)(0,3)(0,2)(1,4)(1,3)(1,2).
+            IntVector t;
+            t = r0.min(r1); r1 = r0.max(r1); r0 = t;
+            t = r3.min(r4); r4 = r3.max(r4); r3 = t;
+            t = r2.min(r4); r4 = r2.max(r4); r2 = t;
+            t = r2.min(r3); r3 = r2.max(r3); r2 = t;
+            t = r0.min(r3); r3 = r0.max(r3); r0 = t;
+            t = r0.min(r2); r2 = r0.max(r2); r0 = t;
+            t = r1.min(r4); r4 = r1.max(r4); r1 = t;
+            t = r1.min(r3); r3 = r1.max(r3); r1 = t;
+            t = r1.min(r2); r2 = r1.max(r2); r1 = t;
+
+            // C(r0, 1) + C(r1 + 1, 2) + C(r2 + 2, 3) + C(r3 + 3, 4) + C(r4 + 4, 5)
+            IntVector n1 = r1.add(1);
+            IntVector index = r0.add(n1.mul(r1).lanewise(VectorOperators.LSHR, 1))
+                    .add(gather(CHOOSE_3, r2.add(2), scratch))
+                    .add(gather(CHOOSE_4, r3.add(3), scratch))
+                    .add(gather(CHOOSE_5, r4.add(4), scratch));
+
+            IntVector multi = gather(HandTables.MULTI5, index, scratch);
+            IntVector flushed = gather(HandTables.FLUSH5, rankMask, scratch);
+            multi.blend(flushed, flush).intoArray(strengths, i);
+        }
+        BatchHandEvaluator.evaluateScalar(hands, strengths, i, count);
+    }
+
+    private static IntVector gather(int[] table, IntVector indexes, int[] scratch) {
+        indexes.intoArray(scratch, 0);
+        return IntVector.fromArray(SPECIES, table, 0, scratch, 0);
+    }
+}
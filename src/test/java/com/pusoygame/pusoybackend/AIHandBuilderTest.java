@@ -0,0 +1,134 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class AIHandBuilderTest {
+
+    private static final Game RULES = new Game(new ArrayList<>(), List.of(), Game.Phase.DEALT);
+    private static final int K = Game.MAX_SUGGESTIONS;
+
+    @Test
+    void topArrangementsAreDistinctLegalSplitsOfTheDealtCards() {
+        for (int seed = 0; seed < 5; seed++) {
+            List<Card> dealt = deal(seed);
+            List<ArrangementSuggestion> top = AIHandBuilder.topArrangements(dealt, K);
+
+            assertEquals(K, top.size(), "seed " + seed);
+            Set<List<Long>> seen = new HashSet<>();
+            for (ArrangementSuggestion s : top) {
+                assertEquals(3, s.getFrontHand().size());
+                assertEquals(5, s.getMiddleHand().size());
+                assertEquals(5, s.getBackHand().size());
+                long front = Hand.maskOf(s.getFrontHand());
+                long middle = Hand.maskOf(s.getMiddleHand());
+                long back = Hand.maskOf(s.getBackHand());
+                assertEquals(13, Long.bitCount(front | middle | back), "seed " + seed);
+                assertEquals(Hand.maskOf(dealt), front | middle | back, "seed " + seed);
+                assertFalse(RULES.checkFoul(new Hand(s.getFrontHand()), new Hand(s.getMiddleHand()),
+                        new Hand(s.getBackHand())), "seed " + seed);
+                assertTrue(seen.add(List.of(front, middle, back)), "seed " + seed + ": duplicate arrangement");
+            }
+        }
+    }
+
+    // The kept k must be the k best of every legal split, best first, by the search's own ranking.
+    @Test
+    void topArrangementsMatchAnExhaustiveRanking() {
+        for (int seed = 0; seed < 5; seed++) {
+            List<Card> dealt = deal(seed);
+            List<int[]> all = new ArrayList<>();
+            forEachSplit(dealt, (front, middle, back) -> {
+                int backStrength = HandEvaluator.evaluateStrength(back);
+                int middleStrength = HandEvaluator.evaluateStrength(middle);
+                if (backStrength > middleStrength) all.add(key(backStrength, middleStrength,
+                        HandEvaluator.evaluateStrength(front)));
+            });
+            all.sort(BEST_FIRST);
+
+            List<ArrangementSuggestion> top = AIHandBuilder.topArrangements(dealt, K);
+            for (int i = 0; i < top.size(); i++) {
+                ArrangementSuggestion s = top.get(i);
+                assertArrayEquals(all.get(i), key(s.getBackStrength(), s.getMiddleStrength(), s.getFrontStrength()),
+                        "seed " + seed + ", rank " + i);
+            }
+        }
+    }
+
+    @Test
+    void suggestionsAreCachedPerSeatAndShareTheOrder() {
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(26));
+        Player alice = game.getPlayers().get(0);
+
+        List<ArrangementSuggestion> three = game.suggestArrangements(alice, 3);
+        List<ArrangementSuggestion> all = game.suggestArrangements(alice, K + 5);
+
+        assertEquals(3, three.size());
+        assertEquals(K, all.size());
+        for (int i = 0; i < three.size(); i++) assertSame(all.get(i), three.get(i), "rank " + i);
+        // Published copies share the cache, so a poll of the view does not search again.
+        assertSame(all.get(0), game.copy().suggestArrangements(alice, 1).get(0));
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(BEST_FIRST.compare(keyOf(all.get(i - 1)), keyOf(all.get(i))) <= 0, "rank " + i);
+        }
+        assertEquals(List.of(), game.suggestArrangements(alice, 0));
+    }
+
+    private static final Comparator<int[]> BEST_FIRST = (a, b) -> {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) return Integer.compare(b[i], a[i]);
+        }
+        return 0;
+    };
+
+    private static int[] key(int back, int middle, int front) {
+        return new int[]{AIHandBuilder.aiPreferenceKey(back), AIHandBuilder.aiPreferenceKey(middle), front};
+    }
+
+    private static int[] keyOf(ArrangementSuggestion s) {
+        return key(s.getBackStrength(), s.getMiddleStrength(), s.getFrontStrength());
+    }
+
+    private static List<Card> deal(int seed) {
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 52; i++) deck.add(Card.fromIndex(i));
+        Collections.shuffle(deck, new Random(seed));
+        return new ArrayList<>(deck.subList(0, 13));
+    }
+
+    private interface SplitVisitor {
+        void visit(List<Card> front, List<Card> middle, List<Card> back);
+    }
+
+    // Every ordered choice of back and middle fives from the 13 cards; the front is what is left.
+    private static void forEachSplit(List<Card> cards, SplitVisitor visitor) {
+        for (int backBits = 0; backBits < 1 << 13; backBits++) {
+            if (Integer.bitCount(backBits) != 5) continue;
+            for (int middleBits = 0; middleBits < 1 << 13; middleBits++) {
+                if (Integer.bitCount(middleBits) != 5 || (middleBits & backBits) != 0) continue;
+                List<Card> front = new ArrayList<>();
+                List<Card> middle = new ArrayList<>();
+                List<Card> back = new ArrayList<>();
+                for (int i = 0; i < 13; i++) {
+                    if ((backBits & 1 << i) != 0) back.add(cards.get(i));
+                    else if ((middleBits & 1 << i) != 0) middle.add(cards.get(i));
+                    else front.add(cards.get(i));
+                }
+                visitor.visit(front, middle, back);
+            }
+        }
+    }
+}
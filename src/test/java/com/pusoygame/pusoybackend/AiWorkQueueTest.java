@@ -0,0 +1,153 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AiWorkQueueTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AiWorkQueue queue;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (queue != null) queue.shutdown();
+    }
+
+    @Test
+    void fullQueueRejectsOrDegradesAtOnce() throws Exception {
+        queue = new AiWorkQueue(meters, 1, 1, 10_000, AiWorkQueue.OverloadPolicy.DEGRADE, 5);
+        Thread running = caller(blockingGame(), null);
+        started.await(5, TimeUnit.SECONDS);
+        Game queued = mock(Game.class);
+        Thread waiting = caller(queued, null);
+        awaitQueueDepth(1);
+
+        Game rejectedGame = mock(Game.class);
+        assertThrows(AiOverloadedException.class,
+                () -> queue.arrangeAISeats(rejectedGame, AiWorkQueue.OverloadPolicy.REJECT));
+        Game degradedGame = mock(Game.class);
+        queue.arrangeAISeats(degradedGame, AiWorkQueue.OverloadPolicy.DEGRADE);
+
+        verify(rejectedGame, never()).arrangeAISeats();
+        verify(rejectedGame, never()).arrangeAISeatsSorted();
+        verify(degradedGame).arrangeAISeatsSorted();
+        assertEquals(1, meters.counter("pusoy.ai.rejected").count());
+        assertEquals(1, meters.counter("pusoy.ai.degraded").count());
+
+        release.countDown();
+        running.join(5000);
+        waiting.join(5000);
+        verify(queued).arrangeAISeats();
+    }
+
+    // Past max-wait-ms a queued job is shed, while a running one is waited for and never degraded.
+    @Test
+    void timeoutShedsQueuedJobsAndWaitsForRunningOnes() throws Exception {
+        queue = new AiWorkQueue(meters, 1, 1, 100, AiWorkQueue.OverloadPolicy.DEGRADE, 5);
+        Game blocking = blockingGame();
+        Thread running = caller(blocking, null);
+        started.await(5, TimeUnit.SECONDS);
+
+        Game queued = mock(Game.class);
+        queue.arrangeAISeats(queued, AiWorkQueue.OverloadPolicy.DEGRADE);
+        Game rejectedGame = mock(Game.class);
+        assertThrows(AiOverloadedException.class,
+                () -> queue.arrangeAISeats(rejectedGame, AiWorkQueue.OverloadPolicy.REJECT));
+
+        verify(queued, never()).arrangeAISeats();
+        verify(queued).arrangeAISeatsSorted();
+        verify(rejectedGame, never()).arrangeAISeats();
+        assertTrue(running.isAlive());
+
+        release.countDown();
+        running.join(5000);
+        assertFalse(running.isAlive());
+        verify(blocking, never()).arrangeAISeatsSorted();
+    }
+
+    @Test
+    void interruptedCallerWaitsForItsRunningJob() throws Exception {
+        queue = new AiWorkQueue(meters, 1, 1, 10_000, AiWorkQueue.OverloadPolicy.DEGRADE, 5);
+        Game blocking = blockingGame();
+        AtomicBoolean interruptKept = new AtomicBoolean();
+        Thread running = caller(blocking, interruptKept);
+        started.await(5, TimeUnit.SECONDS);
+
+        running.interrupt();
+        running.join(200);
+        assertTrue(running.isAlive());
+
+        release.countDown();
+        running.join(5000);
+        assertFalse(running.isAlive());
+        verify(blocking, never()).arrangeAISeatsSorted();
+        assertEquals(0, meters.counter("pusoy.ai.degraded").count());
+        assertTrue(interruptKept.get());
+    }
+
+    @Test
+    void interruptedCallerShedsItsQueuedJob() throws Exception {
+        queue = new AiWorkQueue(meters, 1, 1, 10_000, AiWorkQueue.OverloadPolicy.DEGRADE, 5);
+        caller(blockingGame(), null);
+        started.await(5, TimeUnit.SECONDS);
+        Game queued = mock(Game.class);
+        AtomicBoolean interruptKept = new AtomicBoolean();
+        Thread waiting = caller(queued, interruptKept);
+        awaitQueueDepth(1);
+
+        waiting.interrupt();
+        waiting.join(5000);
+
+        assertFalse(waiting.isAlive());
+        verify(queued, never()).arrangeAISeats();
+        verify(queued).arrangeAISeatsSorted();
+        assertEquals(1, meters.counter("pusoy.ai.degraded").count());
+        assertTrue(interruptKept.get());
+    }
+
+    private Game blockingGame() {
+        Game game = mock(Game.class);
+        doAnswer(call -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(game).arrangeAISeats();
+        return game;
+    }
+
+    // Arranges the game on a new thread with the DEGRADE policy, recording its interrupt flag afterwards.
+    private Thread caller(Game game, AtomicBoolean interruptKept) {
+        Thread t = new Thread(() -> {
+            queue.arrangeAISeats(game, AiWorkQueue.OverloadPolicy.DEGRADE);
+            if (interruptKept != null) interruptKept.set(Thread.currentThread().isInterrupted());
+        });
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meters.get("pusoy.ai.queue.depth").gauge().value() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, (int) meters.get("pusoy.ai.queue.depth").gauge().value());
+    }
+}
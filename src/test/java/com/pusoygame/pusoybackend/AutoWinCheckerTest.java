@@ -0,0 +1,48 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AutoWinCheckerTest {
+
+    private static final Game RULES = new Game(new ArrayList<>(), List.of(), Game.Phase.DEALT);
+
+    @Test
+    void threeFlushesPutTheStrongerFlushInTheBack() {
+        List<Card> cards = new ArrayList<>(suited(Suit.HEARTS, Rank.TWO, Rank.FOUR, Rank.SIX, Rank.EIGHT, Rank.TEN));
+        cards.addAll(suited(Suit.SPADES, Rank.TWO, Rank.FOUR, Rank.SIX, Rank.EIGHT, Rank.QUEEN));
+        cards.addAll(suited(Suit.CLUBS, Rank.THREE, Rank.FIVE, Rank.SEVEN));
+
+        AutoWinChecker.AutoWin found = AutoWinChecker.findAutoWin(cards);
+
+        assertEquals(AutoWinChecker.AutoWinType.THREE_FLUSHES, found.type());
+        assertEquals(Suit.SPADES, found.arrangement().back.get(0).getSuit());
+        assertFalse(RULES.checkFoul(new Hand(found.arrangement().front), new Hand(found.arrangement().middle),
+                new Hand(found.arrangement().back)));
+    }
+
+    // Two flushes of the same ranks tie; the back must beat the middle strictly, so the split would foul.
+    @Test
+    void tiedFivesDoNotMakeAnAutoWin() {
+        List<Card> cards = new ArrayList<>(suited(Suit.HEARTS, Rank.TWO, Rank.FOUR, Rank.SIX, Rank.EIGHT, Rank.TEN));
+        cards.addAll(suited(Suit.SPADES, Rank.TWO, Rank.FOUR, Rank.SIX, Rank.EIGHT, Rank.TEN));
+        cards.addAll(suited(Suit.CLUBS, Rank.THREE, Rank.FIVE, Rank.SEVEN));
+
+        AutoWinChecker.AutoWin found = AutoWinChecker.findAutoWin(cards);
+
+        assertEquals(AutoWinChecker.AutoWinType.NONE, found.type());
+        assertNull(found.arrangement());
+    }
+
+    private static List<Card> suited(Suit suit, Rank... ranks) {
+        List<Card> cards = new ArrayList<>();
+        for (Rank rank : ranks) cards.add(new Card(suit, rank));
+        return cards;
+    }
+}
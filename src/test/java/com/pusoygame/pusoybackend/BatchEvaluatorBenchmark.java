@@ -0,0 +1,66 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH comparison of scalar and Vector API batch evaluation over random 5-card hands. Not a unit test; run e.g.
+ *
+ *   ./mvnw -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       -Dexec.args="--add-modules jdk.incubator.vector -cp %classpath org.openjdk.jmh.Main BatchEvaluatorBenchmark"
+ *
+ * Scores are per hand (OperationsPerInvocation = BATCH).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BatchEvaluatorBenchmark {
+
+    private static final int BATCH = 4096;
+
+    private final int[] hands = new int[BATCH];
+    private final int[] strengths = new int[BATCH];
+
+    @Setup
+    public void deal() {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] deck = new int[52];
+        for (int i = 0; i < BATCH; i++) {
+            for (int c = 0; c < 52; c++) deck[c] = c;
+            for (int c = 0; c < 5; c++) {
+                int j = c + random.nextInt(52 - c);
+                int t = deck[c]; deck[c] = deck[j]; deck[j] = t;
+            }
+            hands[i] = BatchHandEvaluator.encode(deck[0], deck[1], deck[2], deck[3], deck[4]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] scalar() {
+        BatchHandEvaluator.evaluateScalar(hands, strengths, 0, BATCH);
+        return strengths;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] vector() {
+        VectorHandEvaluator.evaluate(hands, strengths, BATCH);
+        return strengths;
+    }
+}
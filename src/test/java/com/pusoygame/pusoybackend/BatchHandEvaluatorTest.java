@@ -0,0 +1,62 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BatchHandEvaluatorTest {
+
+    // Not a multiple of any lane count, so the vector path's scalar tail is exercised too.
+    private static final int SAMPLE = 20_011;
+    private static final int UNWRITTEN = Integer.MIN_VALUE;
+
+    private final int[] hands = new int[SAMPLE];
+    private final int[] expected = new int[SAMPLE];
+
+    BatchHandEvaluatorTest() {
+        Random random = new Random(36);
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 52; i++) deck.add(Card.fromIndex(i));
+        for (int i = 0; i < SAMPLE; i++) {
+            Collections.shuffle(deck, random);
+            List<Card> five = deck.subList(0, 5);
+            hands[i] = BatchHandEvaluator.encode(five);
+            expected[i] = HandEvaluator.evaluateStrength(five);
+        }
+    }
+
+    @Test
+    void scalarPathMatchesEvaluateStrength() {
+        int[] strengths = new int[SAMPLE];
+        BatchHandEvaluator.evaluateScalar(hands, strengths, 0, SAMPLE);
+        assertArrayEquals(expected, strengths);
+    }
+
+    @Test
+    void vectorPathMatchesEvaluateStrength() {
+        assumeTrue(BatchHandEvaluator.VECTORIZED, "jdk.incubator.vector is not available");
+        int[] strengths = new int[SAMPLE];
+        VectorHandEvaluator.evaluate(hands, strengths, SAMPLE);
+        assertArrayEquals(expected, strengths);
+    }
+
+    // Every count up to past 64 lanes: full vectors, the tail, and nothing written past count.
+    @Test
+    void everyBatchLengthIsEvaluatedExactlyToItsCount() {
+        for (int count = 0; count <= 67; count++) {
+            int[] strengths = new int[count + 4];
+            Arrays.fill(strengths, UNWRITTEN);
+            BatchHandEvaluator.evaluate(hands, strengths, count);
+            for (int i = 0; i < count; i++) assertEquals(expected[i], strengths[i], "count " + count + ", hand " + i);
+            for (int i = count; i < strengths.length; i++) assertEquals(UNWRITTEN, strengths[i], "count " + count);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BulkArrangementServiceTest {
+
+    private final BulkArrangementService bulk = new BulkArrangementService(new ObjectMapper(), 2, 4);
+
+    @AfterEach
+    void shutdown() {
+        bulk.shutdown();
+    }
+
+    @Test
+    void everyLineGetsAResult() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bulk.process(input(50), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(50, lines.length);
+        assertTrue(lines[0].contains("expected 13 distinct cards"), lines[0]);
+    }
+
+    @Test
+    void clientDisconnectStopsTheStream() {
+        AtomicInteger writes = new AtomicInteger();
+        OutputStream gone = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writes.incrementAndGet();
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                write(0);
+            }
+        };
+
+        IOException failure = assertThrows(IOException.class, () -> bulk.process(input(10_000), gone));
+        assertEquals("Broken pipe", failure.getMessage());
+        // Reading stops at the first failed write; only hands already in flight may still try to write.
+        assertTrue(writes.get() < 100, writes.get() + " writes after the client went away");
+    }
+
+    // Lines that are valid JSON but not a hand, so each one is answered without running the AI search.
+    private static ByteArrayInputStream input(int lines) {
+        return new ByteArrayInputStream("[]\n".repeat(lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClusterMembershipTest {
+
+    private static final String SELF = "http://localhost:1";
+    private static final String SECRET = "s3cret";
+
+    private final AtomicReference<byte[]> received = new AtomicReference<>();
+    private final AtomicReference<String> presentedSecret = new AtomicReference<>();
+    private volatile int status = 200;
+    private HttpServer remote;
+    private String remoteUrl;
+
+    @BeforeEach
+    void startRemote() throws Exception {
+        remote = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        remote.createContext("/cluster/tables", exchange -> {
+            presentedSecret.set(exchange.getRequestHeaders().getFirst(ClusterMembership.SECRET_HEADER));
+            received.set(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        remote.start();
+        remoteUrl = "http://localhost:" + remote.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopRemote() {
+        remote.stop(0);
+    }
+
+    @Test
+    void handedOffTableIsFencedRemovedAndRedirected() throws Exception {
+        TableRegistry tables = new TableRegistry();
+        ClusterMembership cluster = new ClusterMembership(tables, SELF, "", 128, SECRET);
+        String tableId = idOwnedByRemote();
+        TableActor table = tables.put(tableId, Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(3)));
+
+        assertEquals(1, cluster.updateMembers(List.of(SELF, remoteUrl)));
+
+        assertEquals(SECRET, presentedSecret.get());
+        Map<String, Game> decoded = new HashMap<>();
+        GameSnapshotCodec.decodeTable(received.get(), decoded);
+        assertEquals(Game.SEATS, decoded.get(tableId).getPlayers().size());
+
+        assertNull(tables.get(tableId));
+        assertEquals(remoteUrl, cluster.redirectFor(tableId));
+        assertTrue(cluster.getNodes().contains(remoteUrl));
+        // A command that was still holding the actor reference must not change a game the new owner cannot see.
+        ExecutionException late = assertThrows(ExecutionException.class,
+                () -> table.ask(game -> true).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TableMovedException.class, late.getCause());
+    }
+
+    @Test
+    void failedHandoffKeepsServingTableHere() throws Exception {
+        status = 500;
+        TableRegistry tables = new TableRegistry();
+        ClusterMembership cluster = new ClusterMembership(tables, SELF, "", 128, SECRET);
+        String tableId = idOwnedByRemote();
+        TableActor table = tables.put(tableId, Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(3)));
+
+        assertEquals(0, cluster.updateMembers(List.of(SELF, remoteUrl)));
+
+        assertSame(table, tables.get(tableId));
+        assertNull(cluster.redirectFor(tableId));
+        assertEquals(Game.SEATS, table.ask(game -> game.getPlayers().size()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void clusterEndpointsNeedTheConfiguredSecret() {
+        ClusterMembership open = new ClusterMembership(new TableRegistry(), SELF, "", 128, "");
+        assertFalse(open.authorized(""));
+        assertFalse(open.authorized(null));
+
+        ClusterMembership cluster = new ClusterMembership(new TableRegistry(), SELF, "", 128, SECRET);
+        assertTrue(cluster.authorized(SECRET));
+        assertFalse(cluster.authorized("wrong"));
+        assertFalse(cluster.authorized(null));
+    }
+
+    private String idOwnedByRemote() {
+        ShardRing ring = new ShardRing(List.of(SELF, remoteUrl), 128);
+        while (true) {
+            String id = UUID.randomUUID().toString();
+            if (remoteUrl.equals(ring.ownerOf(id))) return id;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class EquityCalculatorTest {
+
+    private final Player seat = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(7)).getPlayers().get(0);
+    private final List<Card> cards = seat.getHand().getCards();
+    private final List<Card> front = new ArrayList<>(cards.subList(0, 3));
+    private final List<Card> middle = new ArrayList<>(cards.subList(3, 8));
+    private final List<Card> back = new ArrayList<>(cards.subList(8, 13));
+
+    @Test
+    void rowsAreExactWithinTheCap() {
+        EquityReport report = EquityCalculator.calculate(front, middle, back, EquityCalculator.unseenBy(cards),
+                3, 2000, 60_000);
+        assertTrue(report.isRowsExact());
+        assertEquals(2000, report.getSamples());
+        assertTrue(report.getBackWin() + report.getBackTie() <= 1.0);
+        assertEquals(EquityReport.OPPONENT_MODEL, report.getOpponentModel());
+    }
+
+    @Test
+    void expiredCapStopsEnumerationAndSampling() {
+        EquityReport report = EquityCalculator.calculate(front, middle, back, EquityCalculator.unseenBy(cards),
+                3, 1_000_000, 0);
+        assertFalse(report.isRowsExact());
+        assertEquals(0, report.getSamples());
+        assertTrue(report.getElapsedMs() < 1000, "took " + report.getElapsedMs() + " ms");
+    }
+}
@@ -0,0 +1,372 @@
+package com.pusoygame.pusoybackend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Differential check of the optimised evaluators against the reference HandEvaluator. Not a unit test: it
+ * takes minutes on a multicore box, so run it by hand after touching HandTables, BatchHandEvaluator,
+ * AutoWinChecker or AIHandBuilder, e.g.
+ *
+ *   ./mvnw -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *       -Dexec.args="--add-modules jdk.incubator.vector -cp %classpath \
+ *       com.pusoygame.pusoybackend.EvaluatorDifferentialHarness --deals=1000000 --partition-deals=200"
+ *
+ * Stages:
+ *   five      - all 2,598,960 five-card hands: HandTables, computeStrength and BatchHandEvaluator (scalar and,
+ *               when the module is present, vector) must agree exactly, categoryOf must match
+ *               evaluateFiveCardHand, and sorting by strength must agree with compareHands on every
+ *               adjacent pair, which with compareHands' transitivity covers the full ordering
+ *   three     - the same for all 22,100 three-card hands
+ *   autowin   - random deals: findAutoWin must report the same type as a brute-force detector built on
+ *               evaluateFiveCardHand, and its arrangement must use the 13 cards, qualify and not foul
+ *   partition - random deals: every topArrangements suggestion must use the 13 cards, not foul under
+ *               compareHands and carry strengths equal to computeStrength
+ *
+ * Prints the mismatch count per stage with the first few examples and exits 1 on any mismatch.
+ */
+public class EvaluatorDifferentialHarness {
+
+    private static final int MAX_EXAMPLES = 5;
+
+    private final List<String> examples = new ArrayList<>();
+    private long failures;
+
+    public static void main(String[] args) {
+        long deals = 1_000_000;
+        int partitionDeals = 200;
+        long seed = 42;
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            String value = kv.length > 1 ? kv[1] : "";
+            switch (kv[0]) {
+                case "deals" -> deals = Long.parseLong(value);
+                case "partition-deals" -> partitionDeals = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        System.out.println("Vector API: " + (BatchHandEvaluator.VECTORIZED ? "on" : "off (scalar only)")
+                + ", cores: " + Runtime.getRuntime().availableProcessors());
+        EvaluatorDifferentialHarness harness = new EvaluatorDifferentialHarness();
+        harness.run("five", harness::checkFiveCardHands);
+        harness.run("three", harness::checkThreeCardHands);
+        long autoWinDeals = deals;
+        long autoWinSeed = seed;
+        harness.run("autowin", () -> harness.checkAutoWins(autoWinDeals, autoWinSeed));
+        int sampledPartitions = partitionDeals;
+        harness.run("partition", () -> harness.checkPartitions(sampledPartitions, autoWinSeed + 1));
+
+        System.out.println(harness.failures == 0 ? "All stages agree." : harness.failures + " mismatches in total.");
+        System.exit(harness.failures == 0 ? 0 : 1);
+    }
+
+    private void run(String stage, Runnable body) {
+        long before = failures;
+        long start = System.nanoTime();
+        examples.clear();
+        body.run();
+        long mismatches = failures - before;
+        System.out.printf("%-10s %s (%.1fs)%n", stage, mismatches == 0 ? "ok" : mismatches + " mismatches",
+                (System.nanoTime() - start) / 1e9);
+        examples.forEach(e -> System.out.println("    " + e));
+    }
+
+    private synchronized void fail(String example) {
+        failures++;
+        if (examples.size() < MAX_EXAMPLES) examples.add(example);
+    }
+
+    // ---------- exhaustive hand stages ----------
+
+    private void checkFiveCardHands() {
+        int[] hands = new int[2_598_960];
+        int n = 0;
+        for (int a = 0; a < 52; a++)
+            for (int b = a + 1; b < 52; b++)
+                for (int c = b + 1; c < 52; c++)
+                    for (int d = c + 1; d < 52; d++)
+                        for (int e = d + 1; e < 52; e++)
+                            hands[n++] = BatchHandEvaluator.encode(a, b, c, d, e);
+
+        int[] batch = new int[n];
+        BatchHandEvaluator.evaluate(hands, batch, n);
+        int[] scalar = new int[n];
+        BatchHandEvaluator.evaluateScalar(hands, scalar, 0, n);
+
+        int[] strengths = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            List<Card> cards = unpack(hands[i], 5);
+            int table = HandEvaluator.evaluateStrength(cards);
+            int reference = HandEvaluator.computeStrength(cards);
+            strengths[i] = table;
+            if (table != reference) fail(cards + ": HandTables " + table + " != computeStrength " + reference);
+            if (scalar[i] != reference) fail(cards + ": batch scalar " + scalar[i] + " != " + reference);
+            if (batch[i] != reference) fail(cards + ": batch " + batch[i] + " != " + reference);
+            HandEvaluator.HandRank category = HandEvaluator.evaluateFiveCardHand(new Hand(new ArrayList<>(cards)));
+            if (HandEvaluator.categoryOf(table) != category) {
+                fail(cards + ": categoryOf " + HandEvaluator.categoryOf(table) + " != " + category);
+            }
+        });
+        checkOrdering(hands, strengths, 5);
+    }
+
+    private void checkThreeCardHands() {
+        int[] hands = new int[22_100];
+        int n = 0;
+        for (int a = 0; a < 52; a++)
+            for (int b = a + 1; b < 52; b++)
+                for (int c = b + 1; c < 52; c++)
+                    hands[n++] = a | b << 6 | c << 12;
+
+        int[] strengths = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            List<Card> cards = unpack(hands[i], 3);
+            int table = HandEvaluator.evaluateStrength(cards);
+            int reference = HandEvaluator.computeStrength(cards);
+            strengths[i] = table;
+            if (table != reference) fail(cards + ": HandTables " + table + " != computeStrength " + reference);
+            HandEvaluator.HandRank category = HandEvaluator.evaluateThreeCardHand(new Hand(new ArrayList<>(cards)));
+            if (HandEvaluator.categoryOf(table) != category) {
+                fail(cards + ": categoryOf " + HandEvaluator.categoryOf(table) + " != " + category);
+            }
+        });
+        checkOrdering(hands, strengths, 3);
+    }
+
+    // Sorts by strength and checks every neighbouring pair with compareHands: '<' when strengths differ, '=' otherwise.
+    private void checkOrdering(int[] hands, int[] strengths, int size) {
+        long[] keyed = new long[hands.length];
+        for (int i = 0; i < hands.length; i++) keyed[i] = (long) strengths[i] << 32 | (hands[i] & 0xffffffffL);
+        Arrays.parallelSort(keyed);
+
+        IntStream.range(1, keyed.length).parallel().forEach(i -> {
+            int lowStrength = (int) (keyed[i - 1] >>> 32);
+            int highStrength = (int) (keyed[i] >>> 32);
+            List<Card> low = unpack((int) keyed[i - 1], size);
+            List<Card> high = unpack((int) keyed[i], size);
+            int cmp = HandEvaluator.compareHands(new Hand(new ArrayList<>(high)), new Hand(new ArrayList<>(low)));
+            int expected = lowStrength == highStrength ? 0 : 1;
+            if (Integer.signum(cmp) != expected) {
+                fail(high + " vs " + low + ": compareHands " + cmp + " but strengths " + highStrength
+                        + " / " + lowStrength);
+            }
+        });
+    }
+
+    // ---------- sampled deal stages ----------
+
+    private void checkAutoWins(long deals, long seed) {
+        AtomicLong declared = new AtomicLong();
+        SplittableRandom root = new SplittableRandom(seed);
+        int chunks = 1024;
+        long perChunk = (deals + chunks - 1) / chunks;
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; i++) randoms[i] = root.split();
+
+        LongStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = randoms[(int) chunk];
+            long count = Math.min(perChunk, deals - chunk * perChunk);
+            for (long d = 0; d < count; d++) {
+                List<Card> cards = deal(random);
+                AutoWinChecker.AutoWin found = AutoWinChecker.findAutoWin(cards);
+                AutoWinChecker.AutoWinType expected = ReferenceAutoWin.detect(cards);
+                if (found.type() != expected) {
+                    fail(cards + ": findAutoWin " + found.type() + " != reference " + expected);
+                    continue;
+                }
+                if (expected == AutoWinChecker.AutoWinType.NONE) continue;
+                declared.incrementAndGet();
+                Partition p = found.arrangement();
+                if (p == null || !usesExactly(cards, p.back, p.middle, p.front)) {
+                    fail(cards + ": " + expected + " arrangement does not use the dealt cards: " + p);
+                } else if (fouls(p.front, p.middle, p.back)) {
+                    fail(cards + ": " + expected + " arrangement fouls: " + p);
+                } else if (!ReferenceAutoWin.qualifies(expected, p)) {
+                    fail(cards + ": arrangement does not qualify for " + expected + ": " + p);
+                }
+            }
+        });
+        System.out.println("    " + deals + " deals, " + declared.get() + " auto-wins");
+    }
+
+    private void checkPartitions(int deals, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int d = 0; d < deals; d++) {
+            List<Card> cards = deal(random);
+            List<ArrangementSuggestion> suggestions = AIHandBuilder.topArrangements(cards, Game.MAX_SUGGESTIONS);
+            if (suggestions.isEmpty()) fail(cards + ": no suggestions");
+            for (ArrangementSuggestion s : suggestions) {
+                List<Card> front = s.getFrontHand();
+                List<Card> middle = s.getMiddleHand();
+                List<Card> back = s.getBackHand();
+                if (!usesExactly(cards, back, middle, front)) {
+                    fail(cards + ": suggestion does not use the dealt cards: " + back + middle + front);
+                } else if (fouls(front, middle, back)) {
+                    fail(cards + ": suggestion fouls: " + back + " / " + middle + " / " + front);
+                } else if (s.getFrontStrength() != HandEvaluator.computeStrength(front)
+                        || s.getMiddleStrength() != HandEvaluator.computeStrength(middle)
+                        || s.getBackStrength() != HandEvaluator.computeStrength(back)) {
+                    fail(cards + ": suggestion strengths disagree with computeStrength: " + back + middle + front);
+                }
+            }
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private static List<Card> unpack(int packed, int size) {
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) cards.add(Card.fromIndex(packed >>> (6 * i) & 63));
+        return cards;
+    }
+
+    private static List<Card> deal(SplittableRandom random) {
+        int[] deck = new int[52];
+        for (int i = 0; i < 52; i++) deck[i] = i;
+        List<Card> cards = new ArrayList<>(13);
+        for (int i = 0; i < 13; i++) {
+            int j = i + random.nextInt(52 - i);
+            int t = deck[i];
+            deck[i] = deck[j];
+            deck[j] = t;
+            cards.add(Card.fromIndex(deck[i]));
+        }
+        return cards;
+    }
+
+    private static boolean usesExactly(List<Card> cards13, List<Card> back, List<Card> middle, List<Card> front) {
+        if (back.size() != 5 || middle.size() != 5 || front.size() != 3) return false;
+        Set<Integer> used = new HashSet<>();
+        for (List<Card> row : List.of(back, middle, front)) {
+            for (Card c : row) used.add(c.getIndex());
+        }
+        Set<Integer> dealt = new HashSet<>();
+        for (Card c : cards13) dealt.add(c.getIndex());
+        return used.equals(dealt);
+    }
+
+    // Same rule as Game.checkFoul, on copies because evaluateFiveCardHand sorts in place.
+    private static boolean fouls(List<Card> front, List<Card> middle, List<Card> back) {
+        Hand f = new Hand(new ArrayList<>(front));
+        Hand m = new Hand(new ArrayList<>(middle));
+        Hand b = new Hand(new ArrayList<>(back));
+        return !(HandEvaluator.compareHands(b, m) > 0 && HandEvaluator.compareHands(m, f) > 0);
+    }
+
+    /**
+     * Brute-force auto-win detection written only against evaluateFiveCardHand and card ranks/suits, as the
+     * checker worked before it moved to strength tables and early rejection. Each five's category is
+     * computed once per deal and looked up by its 13-bit position mask.
+     */
+    static final class ReferenceAutoWin {
+
+        static AutoWinChecker.AutoWinType detect(List<Card> cards) {
+            if (ranks(cards).size() == 13) {
+                return suits(cards).size() == 1
+                        ? AutoWinChecker.AutoWinType.DRAGON_STRAIGHT_FLUSH
+                        : AutoWinChecker.AutoWinType.DRAGON_STRAIGHT;
+            }
+            HandEvaluator.HandRank[] categories = new HandEvaluator.HandRank[1 << 13];
+            List<Integer> fives = new ArrayList<>(1287);
+            for (int mask = 0; mask < 1 << 13; mask++) {
+                if (Integer.bitCount(mask) != 5) continue;
+                fives.add(mask);
+                categories[mask] = HandEvaluator.evaluateFiveCardHand(new Hand(select(cards, mask)));
+            }
+            if (threeRows(cards, categories, fives, 2)) return AutoWinChecker.AutoWinType.THREE_STRAIGHT_FLUSHES;
+            if (threeRows(cards, categories, fives, 1)) return AutoWinChecker.AutoWinType.THREE_FLUSHES;
+            if (threeRows(cards, categories, fives, 0)) return AutoWinChecker.AutoWinType.THREE_STRAIGHTS;
+
+            int[] counts = new int[15];
+            for (Card c : cards) counts[c.getRank().getValue()]++;
+            int pairs = 0;
+            for (int count : counts) pairs += count / 2;
+            return pairs >= 6 ? AutoWinChecker.AutoWinType.SIX_PAIRS : AutoWinChecker.AutoWinType.NONE;
+        }
+
+        static boolean qualifies(AutoWinChecker.AutoWinType type, Partition p) {
+            HandEvaluator.HandRank back = HandEvaluator.evaluateFiveCardHand(new Hand(new ArrayList<>(p.back)));
+            HandEvaluator.HandRank middle = HandEvaluator.evaluateFiveCardHand(new Hand(new ArrayList<>(p.middle)));
+            return switch (type) {
+                case THREE_STRAIGHT_FLUSHES -> fiveQualifies(back, 2) && fiveQualifies(middle, 2) && threeQualifies(p.front, 2);
+                case THREE_FLUSHES -> fiveQualifies(back, 1) && fiveQualifies(middle, 1) && threeQualifies(p.front, 1);
+                case THREE_STRAIGHTS -> fiveQualifies(back, 0) && fiveQualifies(middle, 0) && threeQualifies(p.front, 0);
+                // The declared split only has to be a legal arrangement of the qualifying cards.
+                default -> true;
+            };
+        }
+
+        // kind: 0 straights, 1 flushes, 2 straight flushes.
+        private static boolean threeRows(List<Card> cards, HandEvaluator.HandRank[] categories, List<Integer> fives,
+                                         int kind) {
+            int all = (1 << 13) - 1;
+            for (int a : fives) {
+                if (!fiveQualifies(categories[a], kind)) continue;
+                for (int b : fives) {
+                    if ((a & b) != 0 || !fiveQualifies(categories[b], kind)) continue;
+                    if (!threeQualifies(select(cards, all & ~a & ~b), kind)) continue;
+                    // Two equal fives cannot be ordered back over middle, so that split does not count.
+                    if (HandEvaluator.compareHands(new Hand(select(cards, a)), new Hand(select(cards, b))) != 0) return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean fiveQualifies(HandEvaluator.HandRank category, int kind) {
+            boolean straightFlush = category == HandEvaluator.HandRank.STRAIGHT_FLUSH
+                    || category == HandEvaluator.HandRank.ROYAL_FLUSH;
+            return switch (kind) {
+                case 0 -> straightFlush || category == HandEvaluator.HandRank.STRAIGHT;
+                case 1 -> straightFlush || category == HandEvaluator.HandRank.FLUSH;
+                default -> straightFlush;
+            };
+        }
+
+        private static boolean threeQualifies(List<Card> three, int kind) {
+            boolean flush = suits(three).size() == 1;
+            Set<Integer> ranks = ranks(three);
+            int low = 15;
+            int high = 0;
+            for (int r : ranks) {
+                low = Math.min(low, r);
+                high = Math.max(high, r);
+            }
+            boolean straight = ranks.size() == 3
+                    && (high - low == 2 || ranks.equals(Set.of(14, 2, 3)));
+            return switch (kind) {
+                case 0 -> straight;
+                case 1 -> flush;
+                default -> straight && flush;
+            };
+        }
+
+        private static List<Card> select(List<Card> cards, int mask) {
+            List<Card> selected = new ArrayList<>(Integer.bitCount(mask));
+            for (int i = 0; i < cards.size(); i++) {
+                if ((mask & 1 << i) != 0) selected.add(cards.get(i));
+            }
+            return selected;
+        }
+
+        private static Set<Integer> ranks(List<Card> cards) {
+            Set<Integer> ranks = new HashSet<>();
+            for (Card c : cards) ranks.add(c.getRank().getValue());
+            return ranks;
+        }
+
+        private static Set<Suit> suits(List<Card> cards) {
+            Set<Suit> suits = new HashSet<>();
+            for (Card c : cards) suits.add(c.getSuit());
+            return suits;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Heap budget per table for the packed Game/Player state, measured with JOL. Objects every table shares
+ * (enum constants, Map.of(), List.of()) are not charged to it; the suggestion cache is empty here.
+ */
+class GameFootprintTest {
+
+    // Four seats with their dealt cards and AI rows, the state a table sits in while its human arranges.
+    private static final long DEALT_BUDGET_BYTES = 1024;
+    // The same table after the showdown, which adds the all-pairs result matrix and the scores.
+    private static final long SETTLED_BUDGET_BYTES = 2560;
+
+    private static final GraphLayout SHARED = GraphLayout.parseInstance(Game.Phase.values(),
+            AutoWinChecker.AutoWinType.values(), Map.of(), List.of());
+
+    // Seeded deals, so a failure reproduces with the same cards.
+    private static final long SEED = 7;
+
+    @Test
+    void dealtTableFitsBudget() {
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(SEED));
+        game.arrangeAISeatsSorted();
+        // A seat left without rows would be measured smaller than a real table.
+        for (Player p : game.getPlayers().subList(1, Game.SEATS)) assertNotNull(p.getBackHand(), p.getName());
+        assertFits(game, DEALT_BUDGET_BYTES);
+    }
+
+    @Test
+    void settledTableFitsBudget() {
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(SEED));
+        game.arrangeAISeatsSorted();
+        game.applySortedSplit(game.getPlayers().get(0));
+        assertTrue(game.allHandsSet());
+        game.showdown(new ScoringEngine(new ScoringRules()));
+        assertEquals(Game.Phase.SHOWDOWN, game.getPhase());
+        assertFits(game, SETTLED_BUDGET_BYTES);
+    }
+
+    private static void assertFits(Game game, long budget) {
+        GraphLayout layout = GraphLayout.parseInstance(game).subtract(SHARED);
+        long bytes = layout.totalSize();
+        assertTrue(bytes <= budget, "Table takes " + bytes + " bytes, budget is " + budget + ":\n" + layout.toFootprint());
+    }
+}
@@ -0,0 +1,57 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class GamePoolTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final AiWorkQueue aiWork = mock(AiWorkQueue.class);
+    private final GamePool pool = new GamePool(new ScoringEngine(new ScoringRules()), aiWork, meters);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void refillGoesThroughTheAiQueueAndBacksOffOnFailure() throws Exception {
+        ReflectionTestUtils.setField(pool, "targetSize", 1);
+        ReflectionTestUtils.setField(pool, "maxCpuLoad", 2.0);
+        ReflectionTestUtils.setField(pool, "idleCheckMs", 10L);
+        ReflectionTestUtils.setField(pool, "maxBackoffMs", 50L);
+        // Busy twice, then the cheap split stands in for the search.
+        doThrow(new AiOverloadedException(1)).doThrow(new AiOverloadedException(1))
+                .doAnswer(call -> {
+                    call.getArgument(0, Game.class).arrangeAISeatsSorted();
+                    return null;
+                })
+                .when(aiWork).arrangeAISeats(any(Game.class), eq(AiWorkQueue.OverloadPolicy.REJECT));
+
+        pool.startRefilling();
+        Game game = null;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (game == null && System.currentTimeMillis() < deadline) {
+            game = pool.take(List.of("Alice"));
+            if (game == null) Thread.sleep(20);
+        }
+
+        assertNotNull(game);
+        assertEquals(2, meters.counter("pusoy.pool.refill-failures").count());
+        verify(aiWork, never()).arrangeAISeats(any(Game.class));
+        for (Player p : game.getPlayers().subList(1, Game.SEATS)) assertNotNull(p.getBackHand());
+    }
+}
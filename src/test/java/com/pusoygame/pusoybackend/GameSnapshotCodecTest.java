@@ -0,0 +1,111 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GameSnapshotCodecTest {
+
+    @Test
+    void dealtTableRoundTrips() throws IOException {
+        // Three seats leave 13 cards in the deck; the seeded deal gives Alice no auto-win, so her rows are unset.
+        Game game = new Game(seats("Alice", 3), new Random(11));
+
+        Game decoded = roundTrip("t1", game);
+
+        assertSameTable(game, decoded);
+        assertEquals(13, decoded.getDeck().size());
+        assertNull(decoded.getPlayers().get(0).getBackHand());
+        assertNull(decoded.getScores());
+    }
+
+    @Test
+    void settledTableKeepsRowsAutoWinsAndScores() throws IOException {
+        Game game = new Game(seats("Alice", Game.SEATS), new Random(12));
+        for (Player p : game.getPlayers()) splitInOrder(p);
+        game.getPlayers().get(1).setAutoWin(AutoWinChecker.AutoWinType.SIX_PAIRS);
+        game.showdown(new ScoringEngine(new ScoringRules()));
+
+        Game decoded = roundTrip("t2", game);
+
+        assertSameTable(game, decoded);
+        assertEquals(Game.Phase.SHOWDOWN, decoded.getPhase());
+        assertEquals(game.getScores(), decoded.getScores());
+    }
+
+    @Test
+    void snapshotFileHoldsEveryTable() throws IOException {
+        Game a = new Game(seats("Alice", Game.SEATS), new Random(13));
+        Game b = new Game(seats("Bob", Game.SEATS), new Random(14));
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        GameSnapshotCodec.writeSnapshot(file, List.of(GameSnapshotCodec.encodeTable("a", a),
+                GameSnapshotCodec.encodeTable("b", b)));
+
+        Map<String, Game> restored = GameSnapshotCodec.readSnapshot(new ByteArrayInputStream(file.toByteArray()));
+
+        assertEquals(List.of("a", "b"), List.copyOf(restored.keySet()));
+        assertSameTable(a, restored.get("a"));
+        assertSameTable(b, restored.get("b"));
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThrows(IOException.class,
+                () -> GameSnapshotCodec.readSnapshot(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    private static List<Player> seats(String human, int seats) {
+        List<Player> players = new ArrayList<>(List.of(new Player(human)));
+        for (int i = 1; players.size() < seats; i++) players.add(new Player("AI " + i, true));
+        return players;
+    }
+
+    // The codec stores rows as dealt, so they need not be a legal arrangement.
+    private static void splitInOrder(Player p) {
+        List<Card> cards = p.getHand().getCards();
+        p.setHands(new Hand(new ArrayList<>(cards.subList(0, 3))), new Hand(new ArrayList<>(cards.subList(3, 8))),
+                new Hand(new ArrayList<>(cards.subList(8, 13))));
+    }
+
+    private static Game roundTrip(String tableId, Game game) throws IOException {
+        Map<String, Game> into = new HashMap<>();
+        GameSnapshotCodec.decodeTable(GameSnapshotCodec.encodeTable(tableId, game), into);
+        return into.get(tableId);
+    }
+
+    private static void assertSameTable(Game expected, Game actual) {
+        assertEquals(expected.getPhase(), actual.getPhase());
+        assertEquals(expected.getDeck(), actual.getDeck());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int i = 0; i < expected.getPlayers().size(); i++) {
+            Player e = expected.getPlayers().get(i);
+            Player a = actual.getPlayers().get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.isAi(), a.isAi());
+            assertEquals(e.getAutoWin(), a.getAutoWin());
+            assertEquals(e.getHand().getCards(), a.getHand().getCards());
+            assertArrayEquals(rows(e), rows(a));
+        }
+    }
+
+    private static Object[] rows(Player p) {
+        return new Object[]{cardsOf(p.getFrontHand()), cardsOf(p.getMiddleHand()), cardsOf(p.getBackHand())};
+    }
+
+    private static List<Card> cardsOf(Hand hand) {
+        return hand != null ? hand.getCards() : null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class GameStateResponsesTest {
+
+    private static final String ETAG = "\"5f3a.7\"";
+
+    @Test
+    void matchesStrongWeakListedAndWildcardTags() {
+        assertTrue(GameStateResponses.matches(ETAG, ETAG));
+        assertTrue(GameStateResponses.matches("W/" + ETAG, ETAG));
+        assertTrue(GameStateResponses.matches("\"5f3a.6\", " + ETAG, ETAG));
+        assertTrue(GameStateResponses.matches("\"other\",W/" + ETAG, ETAG));
+        assertTrue(GameStateResponses.matches("*", ETAG));
+    }
+
+    @Test
+    void doesNotMatchMissingStaleOrUnquotedTags() {
+        assertFalse(GameStateResponses.matches(null, ETAG));
+        assertFalse(GameStateResponses.matches("", ETAG));
+        assertFalse(GameStateResponses.matches("\"5f3a.6\"", ETAG));
+        assertFalse(GameStateResponses.matches("\"5f3a.6\", W/\"5f3a.8\"", ETAG));
+        assertFalse(GameStateResponses.matches("5f3a.7", ETAG));
+    }
+
+    @Test
+    void currentTagGets304AndANewVersionGetsTheBody() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        TableActor table = new TableActor("t", Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS));
+
+        ResponseEntity<byte[]> first = GameStateResponses.of(table, null, mapper);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        String etag = first.getHeaders().getETag();
+        assertEquals(table.view().etag(), etag);
+
+        ResponseEntity<byte[]> again = GameStateResponses.of(table, etag, mapper);
+        assertEquals(HttpStatus.NOT_MODIFIED, again.getStatusCode());
+        assertEquals(etag, again.getHeaders().getETag());
+        assertNull(again.getBody());
+
+        table.ask(game -> null).get(5, TimeUnit.SECONDS);
+        ResponseEntity<byte[]> changed = GameStateResponses.of(table, etag, mapper);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+        assertTrue(changed.getBody().length > 0);
+    }
+
+    @Test
+    void seatsSeeOnlyTheirOwnCardsUntilTheShowdown() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Game game = Game.dealWithAIBackfill(List.of("Alice", "Bob"), Game.SEATS, new Random(5));
+        game.arrangeAISeatsSorted();
+        TableActor table = new TableActor("t", game);
+        String alice = game.getPlayers().get(0).getId();
+        String bob = game.getPlayers().get(1).getId();
+
+        ResponseEntity<byte[]> forAlice = GameStateResponses.forViewer(table, alice, null, mapper);
+        JsonNode seats = mapper.readTree(forAlice.getBody()).get("players");
+        assertTrue(seats.get(0).get("hand").isObject());
+        assertTrue(seats.get(1).get("hand").isNull());
+        assertFalse(seats.get(1).get("submitted").asBoolean());
+        assertTrue(seats.get(2).get("backHand").isNull());
+        assertTrue(seats.get(2).get("submitted").asBoolean());
+
+        // Each viewer has its own tag, so Alice's cached form never answers Bob's poll.
+        String aliceTag = forAlice.getHeaders().getETag();
+        assertEquals(HttpStatus.NOT_MODIFIED, GameStateResponses.forViewer(table, alice, aliceTag, mapper).getStatusCode());
+        ResponseEntity<byte[]> forBob = GameStateResponses.forViewer(table, bob, aliceTag, mapper);
+        assertEquals(HttpStatus.OK, forBob.getStatusCode());
+        assertNotEquals(aliceTag, forBob.getHeaders().getETag());
+        assertTrue(mapper.readTree(forBob.getBody()).get("players").get(0).get("hand").isNull());
+        assertTrue(mapper.readTree(GameStateResponses.forViewer(table, null, null, mapper).getBody())
+                .get("players").get(0).get("hand").isNull());
+
+        ScoringEngine scoring = new ScoringEngine(new ScoringRules());
+        table.ask(g -> {
+            g.showdown(scoring);
+            return null;
+        }).get(5, TimeUnit.SECONDS);
+        ResponseEntity<byte[]> settled = GameStateResponses.forViewer(table, bob, null, mapper);
+        assertEquals(table.view().etag(), settled.getHeaders().getETag());
+        assertTrue(mapper.readTree(settled.getBody()).get("players").get(0).get("hand").isObject());
+    }
+}
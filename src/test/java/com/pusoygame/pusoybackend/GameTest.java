@@ -0,0 +1,67 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GameTest {
+
+    private static final ScoringEngine SCORING = new ScoringEngine(new ScoringRules());
+
+    @Test
+    void sortedSplitPutsTheStrongerFiveInTheBack() {
+        Player bot = new Player("Bot", true);
+        bot.setHand(new Hand(List.of(
+                new Card(Suit.SPADES, Rank.ACE), new Card(Suit.HEARTS, Rank.KING), new Card(Suit.DIAMONDS, Rank.QUEEN),
+                new Card(Suit.CLUBS, Rank.JACK), new Card(Suit.SPADES, Rank.NINE),
+                new Card(Suit.SPADES, Rank.EIGHT), new Card(Suit.HEARTS, Rank.EIGHT), new Card(Suit.DIAMONDS, Rank.SEVEN),
+                new Card(Suit.CLUBS, Rank.SEVEN), new Card(Suit.SPADES, Rank.SIX),
+                new Card(Suit.SPADES, Rank.TWO), new Card(Suit.HEARTS, Rank.THREE), new Card(Suit.DIAMONDS, Rank.FOUR))));
+        Game game = new Game(List.of(bot), List.of(), Game.Phase.DEALT);
+
+        game.applySortedSplit(bot);
+
+        assertNotNull(bot.getBackHand());
+        assertEquals(HandEvaluator.HandRank.TWO_PAIR, HandEvaluator.evaluateFiveCardHand(bot.getBackHand()));
+        assertFalse(game.checkFoul(bot.getFrontHand(), bot.getMiddleHand(), bot.getBackHand()));
+    }
+
+    // The DEGRADE path: a fouled sorted split would leave the seat unset and the table short of a showdown.
+    // Declared auto-wins are checked too; their rows must pass the same foul check.
+    @Test
+    void sortedArrangementSetsEveryAiSeat() {
+        for (int seed = 0; seed < 2000; seed++) {
+            Game game = Game.dealWithAIBackfill(List.of(), Game.SEATS, new Random(seed));
+            game.arrangeAISeatsSorted();
+            for (Player p : game.getPlayers()) {
+                assertNotNull(p.getBackHand(), "seed " + seed + ": " + p.getName() + " has no rows");
+                assertFalse(game.checkFoul(p.getFrontHand(), p.getMiddleHand(), p.getBackHand()), "seed " + seed);
+            }
+            assertTrue(game.allHandsSet());
+            game.showdown(SCORING);
+            assertEquals(Game.Phase.SHOWDOWN, game.getPhase());
+        }
+    }
+
+    @Test
+    void declaredAutoWinRowsCannotBeReplaced() {
+        int checked = 0;
+        for (int seed = 0; seed < 5000 && checked < 3; seed++) {
+            Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(seed));
+            for (Player p : game.getPlayers()) {
+                if (p.getAutoWin() == AutoWinChecker.AutoWinType.NONE) continue;
+                Hand back = p.getBackHand();
+                assertFalse(game.setPlayerHands(p, p.getFrontHand(), p.getMiddleHand(), back), "seed " + seed);
+                assertEquals(back.getCards(), p.getBackHand().getCards());
+                checked++;
+            }
+        }
+        assertTrue(checked > 0, "no auto-win dealt");
+    }
+}
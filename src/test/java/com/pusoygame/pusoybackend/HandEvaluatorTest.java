@@ -0,0 +1,40 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HandEvaluatorTest {
+
+    // High-card fronts used to be compared in list order, so an unsorted front could lose to a weaker one.
+    @Test
+    void unsortedHighCardFrontsCompareByRank() {
+        Hand strong = new Hand(List.of(new Card(Suit.SPADES, Rank.KING), new Card(Suit.HEARTS, Rank.TWO),
+                new Card(Suit.CLUBS, Rank.NINE)));
+        Hand weak = new Hand(List.of(new Card(Suit.DIAMONDS, Rank.EIGHT), new Card(Suit.CLUBS, Rank.SEVEN),
+                new Card(Suit.HEARTS, Rank.QUEEN)));
+
+        assertEquals(1, HandEvaluator.compareHands(strong, weak));
+        assertEquals(-1, HandEvaluator.compareHands(weak, strong));
+    }
+
+    @Test
+    void strengthOrdersShuffledHandsLikeCompareHands() {
+        Random random = new Random(26);
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 52; i++) deck.add(Card.fromIndex(i));
+        for (int n = 0; n < 20_000; n++) {
+            int size = n % 2 == 0 ? 3 : 5;
+            Collections.shuffle(deck, random);
+            List<Card> a = new ArrayList<>(deck.subList(0, size));
+            List<Card> b = new ArrayList<>(deck.subList(size, 2 * size));
+            int expected = Integer.signum(HandEvaluator.evaluateStrength(a) - HandEvaluator.evaluateStrength(b));
+            assertEquals(expected, Integer.signum(HandEvaluator.compareHands(new Hand(a), new Hand(b))), a + " vs " + b);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class HelloControllerTest {
+
+    private final TableRegistry tables = new TableRegistry();
+    private final RegretAnalyzer regret = mock(RegretAnalyzer.class);
+    private final NextRoundPreparer nextRounds = mock(NextRoundPreparer.class);
+    private final HelloController controller = new HelloController(tables, mock(AiWorkQueue.class),
+            new ScoringEngine(new ScoringRules()), regret, nextRounds, mock(GamePool.class), new ObjectMapper());
+
+    @Test
+    void setHandsAfterShowdownIsRejectedAndKeepsTheScores() {
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(2));
+        game.arrangeAISeatsSorted();
+        Player alice = game.getPlayers().get(0);
+        assertEquals(AutoWinChecker.AutoWinType.NONE, alice.getAutoWin());
+        tables.put(TableRegistry.DEFAULT_TABLE, game);
+        HandSubmission submission = sortedSplitOf(alice);
+
+        ResponseEntity<Game> first = controller.setHumanHands(submission);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        Map<String, Integer> scores = first.getBody().getScores();
+        assertNotNull(scores);
+
+        ResponseEntity<Game> second = controller.setHumanHands(submission);
+        assertEquals(HttpStatus.BAD_REQUEST, second.getStatusCode());
+        assertEquals(scores, second.getBody().getScores());
+        // Only the accepted submission settled the round, so regrets and the next deal are scheduled once.
+        verify(regret, times(1)).analyzeLater(any(TableActor.class));
+        verify(nextRounds, times(1)).prepare(any(), any());
+    }
+
+    @Test
+    void previewReportsOnlyTheCompleteRows() {
+        tables.put(TableRegistry.DEFAULT_TABLE, Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(3)));
+
+        ArrangementPreview preview = preview(null, "QC KD TS", "8S 8H", "").getBody();
+
+        assertTrue(preview.getFront().isComplete());
+        assertEquals(HandEvaluator.HandRank.HIGH_CARD, preview.getFront().getCategory());
+        assertEquals(RowPercentiles.winRate(cards("QC KD TS")), preview.getFront().getWinRate());
+        assertFalse(preview.getMiddle().isComplete());
+        assertEquals(2, preview.getMiddle().getCardCount());
+        assertNull(preview.getMiddle().getCategory());
+        assertEquals(0, preview.getBack().getCardCount());
+        // Nothing can foul until both five-card rows are in, and the only complete row is the weakest.
+        assertNull(preview.getFouled());
+        assertEquals(ArrangementPreview.Row.FRONT, preview.getWeakestRow());
+        assertFalse(preview.isComplete());
+    }
+
+    @Test
+    void previewFlagsAFoulAndTheWeakestRow() {
+        tables.put(TableRegistry.DEFAULT_TABLE, Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(3)));
+
+        ArrangementPreview fouled = preview(null, "AS AH 4C", "TC TD TS 4H 2C", "8S 8H KD 5C 3S").getBody();
+        assertTrue(fouled.isComplete());
+        assertEquals(Boolean.TRUE, fouled.getFouled());
+        assertEquals(ArrangementPreview.Row.BACK, fouled.getWeakestRow());
+
+        ArrangementPreview legal = preview(null, "2C 3D 5H", "8S 8H KD 4C 2S", "TC TD TS 4H 6C").getBody();
+        assertEquals(Boolean.FALSE, legal.getFouled());
+        assertEquals(ArrangementPreview.Row.FRONT, legal.getWeakestRow());
+    }
+
+    @Test
+    void previewRejectsMissingRepeatedAndUndealtCards() {
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(3));
+        tables.put(TableRegistry.DEFAULT_TABLE, game);
+        Player alice = game.getPlayers().get(0);
+        List<Card> hand = alice.getHand().getCards();
+        Card undealt = null;
+        for (int i = 0; undealt == null; i++) {
+            if ((alice.handMask() & 1L << i) == 0) undealt = Card.fromIndex(i);
+        }
+
+        assertEquals(HttpStatus.OK, preview(alice.getId(), hand.subList(0, 3), hand.subList(3, 5), List.of())
+                .getStatusCode());
+        assertRejected(alice.getId(), hand.subList(0, 3), List.of(hand.get(3), hand.get(0)), List.of());
+        assertRejected(alice.getId(), hand.subList(0, 2), List.of(undealt), List.of());
+        assertRejected(alice.getId(), Arrays.asList(hand.get(0), null), List.of(), List.of());
+        assertRejected(alice.getId(), List.of(new Card(null, hand.get(0).getRank())), List.of(), List.of());
+        assertRejected(alice.getId(), hand.subList(0, 4), List.of(), List.of());
+    }
+
+    private void assertRejected(String playerId, List<Card> front, List<Card> middle, List<Card> back) {
+        assertEquals(HttpStatus.BAD_REQUEST, preview(playerId, front, middle, back).getStatusCode());
+    }
+
+    private ResponseEntity<ArrangementPreview> preview(String playerId, String front, String middle, String back) {
+        return preview(playerId, cards(front), cards(middle), cards(back));
+    }
+
+    private ResponseEntity<ArrangementPreview> preview(String playerId, List<Card> front, List<Card> middle,
+                                                       List<Card> back) {
+        HandSubmission submission = new HandSubmission();
+        submission.setPlayerId(playerId);
+        submission.setFrontHand(front);
+        submission.setMiddleHand(middle);
+        submission.setBackHand(back);
+        return controller.previewHands(submission);
+    }
+
+    // The rows the cheap split would give the seat, computed on a copy so the table's seat stays unset.
+    private static HandSubmission sortedSplitOf(Player seat) {
+        Player copy = new Player(seat.getName());
+        copy.setHand(new Hand(seat.getHand().getCards()));
+        new Game(List.of(copy), List.of(), Game.Phase.DEALT).applySortedSplit(copy);
+        HandSubmission submission = new HandSubmission();
+        submission.setPlayerId(seat.getId());
+        submission.setFrontHand(copy.getFrontHand().getCards());
+        submission.setMiddleHand(copy.getMiddleHand().getCards());
+        submission.setBackHand(copy.getBackHand().getCards());
+        return submission;
+    }
+
+    private static List<Card> cards(String spec) {
+        List<Card> cards = new ArrayList<>();
+        if (spec.isEmpty()) return cards;
+        for (String code : spec.split(" ")) {
+            int value = "23456789TJQKA".indexOf(code.charAt(0)) + 2;
+            Rank rank = Arrays.stream(Rank.values()).filter(r -> r.getValue() == value).findFirst().orElseThrow();
+            Suit suit = Arrays.stream(Suit.values()).filter(s -> s.name().charAt(0) == code.charAt(1))
+                    .findFirst().orElseThrow();
+            cards.add(new Card(suit, rank));
+        }
+        return cards;
+    }
+}
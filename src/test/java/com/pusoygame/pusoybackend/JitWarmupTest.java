@@ -0,0 +1,83 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JitWarmupTest {
+
+    private final ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+    private final List<ReadinessState> readinessPerDeal = new ArrayList<>();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final JitWarmup warmup = spy(new JitWarmup(new ScoringEngine(new ScoringRules()), new ObjectMapper(),
+            event -> availability.onApplicationEvent((AvailabilityChangeEvent<?>) event), meters));
+
+    JitWarmupTest() throws Exception {
+        // The caps are what is under test, not the search: each round just notes what readiness said.
+        doAnswer(call -> readinessPerDeal.add(availability.getReadinessState())).when(warmup).playRound(any());
+        configure(true, 1_000, 60);
+    }
+
+    @Test
+    void stopsAtTheDealCapWhileRefusingTraffic() throws Exception {
+        configure(true, 2, 60);
+
+        warmup.run(null);
+
+        verify(warmup, times(2)).playRound(any());
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.REFUSING_TRAFFIC), readinessPerDeal);
+        // The runner only ever refuses traffic; Spring Boot accepts it once every runner has returned.
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, availability.getLastChangeEvent(ReadinessState.class).getState());
+        assertEquals(1, meters.timer("pusoy.warmup").count());
+    }
+
+    // A zero-second budget is spent by the first deal, however high the deal cap.
+    @Test
+    void stopsAtTheTimeCapWhileRefusingTraffic() throws Exception {
+        configure(true, 64, 0);
+
+        warmup.run(null);
+
+        verify(warmup, times(1)).playRound(any());
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC), readinessPerDeal);
+        assertEquals(1, meters.timer("pusoy.warmup").count());
+    }
+
+    @Test
+    void disabledWarmupLeavesReadinessAlone() throws Exception {
+        configure(false, 2, 60);
+
+        warmup.run(null);
+
+        verify(warmup, never()).playRound(any());
+        assertNull(availability.getLastChangeEvent(ReadinessState.class));
+        assertEquals(0, meters.timer("pusoy.warmup").count());
+    }
+
+    // Compilation can never count as settled here, so only the deal and time caps can end the run.
+    private void configure(boolean enabled, int maxDeals, long maxSeconds) {
+        ReflectionTestUtils.setField(warmup, "enabled", enabled);
+        ReflectionTestUtils.setField(warmup, "seed", 1L);
+        ReflectionTestUtils.setField(warmup, "minDeals", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(warmup, "maxDeals", maxDeals);
+        ReflectionTestUtils.setField(warmup, "maxSeconds", maxSeconds);
+        ReflectionTestUtils.setField(warmup, "stableCompileMs", 20L);
+        ReflectionTestUtils.setField(warmup, "stableDeals", Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,300 @@
+package com.pusoygame.pusoybackend;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Load generator for a locally started backend. Not a unit test: run it against a live server, e.g.
+ *
+ *   ./mvnw spring-boot:run
+ *   ./mvnw -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.pusoygame.pusoybackend.LoadGenerator \
+ *       -Dexec.args="--url=http://localhost:8080 --users=64 --seconds=60 --mode=lobby"
+ *
+ * Each virtual user plays rounds in a loop on its own virtual thread and always submits a valid
+ * (non-fouling) arrangement of the cards it was dealt. Modes:
+ *   single - GET /game/new + POST /game/set-hands on the shared frontend table (users contend for it)
+ *   lobby  - POST /lobby/join, poll the ticket, GET /tables/{id} + POST /tables/{id}/set-hands
+ *
+ * Reports per-endpoint throughput and p50/p99/p999/max latency from a log-linear histogram.
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String mode;
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final AtomicLong rounds = new AtomicLong();
+    private volatile boolean recording;
+
+    LoadGenerator(String baseUrl, String mode) {
+        this.baseUrl = baseUrl;
+        this.mode = mode;
+        for (String endpoint : List.of("GET /game/new", "POST /game/set-hands", "POST /lobby/join",
+                "GET /lobby/tickets/{id}", "GET /tables/{id}", "POST /tables/{id}/set-hands")) {
+            latencies.put(endpoint, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new LinkedHashMap<>();
+        opts.put("url", "http://localhost:8080");
+        opts.put("users", "32");
+        opts.put("seconds", "30");
+        opts.put("warmup-seconds", "10");
+        opts.put("mode", "single");
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length == 2) opts.put(kv[0], kv[1]);
+        }
+
+        LoadGenerator generator = new LoadGenerator(opts.get("url"), opts.get("mode"));
+        generator.run(Integer.parseInt(opts.get("users")),
+                Integer.parseInt(opts.get("warmup-seconds")),
+                Integer.parseInt(opts.get("seconds")));
+    }
+
+    void run(int users, int warmupSeconds, int seconds) throws InterruptedException {
+        System.out.printf("Driving %s (%s mode) with %d virtual users: %ds warm-up, %ds measured%n",
+                baseUrl, mode, users, warmupSeconds, seconds);
+
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + seconds);
+        try (ExecutorService vus = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                vus.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        try {
+                            if (mode.equals("lobby")) playLobbyRound(user);
+                            else playSingleRound();
+                        } catch (Exception e) {
+                            // Counted as an error on the endpoint that failed; keep the user going.
+                        }
+                    }
+                });
+            }
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+            latencies.values().forEach(LatencyHistogram::reset);
+            rounds.set(0);
+            recording = true;
+            long measureStart = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+            recording = false;
+            report((System.nanoTime() - measureStart) / 1e9);
+        }
+    }
+
+    // ---------- one round per mode ----------
+
+    private void playSingleRound() throws Exception {
+        JsonNode game = call("GET /game/new", get("/game/new"));
+        JsonNode human = findSeat(game, null);
+        call("POST /game/set-hands", post("/game/set-hands", submission(human)));
+        if (recording) rounds.incrementAndGet();
+    }
+
+    private void playLobbyRound(int user) throws Exception {
+        JsonNode ticket = call("POST /lobby/join", post("/lobby/join?name=vu-" + user, null));
+        String ticketId = ticket.get("id").asText();
+        while (!"SEATED".equals(ticket.get("status").asText())) {
+            Thread.sleep(100);
+            ticket = call("GET /lobby/tickets/{id}", get("/lobby/tickets/" + ticketId));
+        }
+        String tableId = ticket.get("tableId").asText();
+        String playerId = ticket.get("playerId").asText();
+        JsonNode game = call("GET /tables/{id}", get("/tables/" + tableId + "?playerId=" + playerId));
+        JsonNode seat = findSeat(game, playerId);
+        call("POST /tables/{id}/set-hands", post("/tables/" + tableId + "/set-hands", submission(seat)));
+        if (recording) rounds.incrementAndGet();
+    }
+
+    private JsonNode call(String endpoint, HttpRequest request) throws Exception {
+        LatencyHistogram histogram = latencies.get(endpoint);
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            if (recording) histogram.recordError();
+            throw e;
+        }
+        long micros = (System.nanoTime() - start) / 1_000;
+        if (response.statusCode() / 100 != 2) {
+            if (recording) histogram.recordError();
+            throw new IllegalStateException(endpoint + " returned " + response.statusCode());
+        }
+        if (recording) histogram.record(micros);
+        return JSON.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(publisher)
+                .build();
+    }
+
+    // ---------- building a valid arrangement from the dealt cards ----------
+
+    private static JsonNode findSeat(JsonNode game, String playerId) {
+        for (JsonNode p : game.get("players")) {
+            if (playerId != null ? playerId.equals(p.get("id").asText()) : !p.path("ai").asBoolean()) return p;
+        }
+        throw new IllegalStateException("Seat not found in game state");
+    }
+
+    private static ObjectNode submission(JsonNode seat) {
+        List<Card> cards = new ArrayList<>();
+        for (JsonNode c : seat.get("hand").get("cards")) cards.add(parseCard(c));
+        cards.sort(Comparator.comparingInt(card -> card.getRank().getValue()));
+
+        // The sorted split is free and valid for most deals; fall back to the best suggestion when it fouls.
+        List<Card> front = new ArrayList<>(cards.subList(0, 3));
+        List<Card> middle = new ArrayList<>(cards.subList(3, 8));
+        List<Card> back = new ArrayList<>(cards.subList(8, 13));
+        if (HandEvaluator.compareHands(new Hand(back), new Hand(middle)) <= 0) {
+            ArrangementSuggestion best = AIHandBuilder.topArrangements(cards, 1).get(0);
+            front = best.getFrontHand();
+            middle = best.getMiddleHand();
+            back = best.getBackHand();
+        }
+
+        ObjectNode body = JSON.createObjectNode();
+        body.put("playerId", seat.get("id").asText());
+        body.set("frontHand", toJson(front));
+        body.set("middleHand", toJson(middle));
+        body.set("backHand", toJson(back));
+        return body;
+    }
+
+    private static Card parseCard(JsonNode node) {
+        Suit suit = null;
+        for (Suit s : Suit.values()) if (s.getSymbol().equals(node.get("suit").asText())) suit = s;
+        Rank rank = null;
+        for (Rank r : Rank.values()) if (r.getDisplay().equals(node.get("rank").asText())) rank = r;
+        return new Card(suit, rank);
+    }
+
+    private static ArrayNode toJson(List<Card> cards) {
+        ArrayNode array = JSON.createArrayNode();
+        for (Card c : cards) {
+            ObjectNode node = array.addObject();
+            node.put("suit", c.getSuit().getSymbol());
+            node.put("rank", c.getRank().getDisplay());
+        }
+        return array;
+    }
+
+    // ---------- reporting ----------
+
+    private void report(double seconds) {
+        System.out.printf("%nRounds completed: %d (%.1f rounds/s)%n", rounds.get(), rounds.get() / seconds);
+        System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        latencies.forEach((endpoint, h) -> {
+            if (h.count() == 0 && h.errors() == 0) return;
+            System.out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, h.count(), h.errors(), h.count() / seconds,
+                    h.percentile(50) / 1000.0, h.percentile(99) / 1000.0,
+                    h.percentile(99.9) / 1000.0, h.max() / 1000.0);
+        });
+    }
+
+    /**
+     * Concurrent log-linear histogram of microsecond latencies in the spirit of HdrHistogram:
+     * each power of two is split into SUB_BUCKETS / 2 linear buckets, bounding the error to about 1.5%.
+     */
+    static final class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 7;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int MAGNITUDES = 40;
+
+        private final AtomicLongArray counts = new AtomicLongArray(SUB_BUCKETS * MAGNITUDES);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long value) {
+            counts.incrementAndGet(indexOf(Math.max(0, value)));
+            total.incrementAndGet();
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        void recordError() {
+            errors.incrementAndGet();
+        }
+
+        void reset() {
+            for (int i = 0; i < counts.length(); i++) counts.set(i, 0);
+            total.set(0);
+            errors.set(0);
+            max.set(0);
+        }
+
+        long count() {
+            return total.get();
+        }
+
+        long errors() {
+            return errors.get();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long percentile(double p) {
+            long target = (long) Math.ceil(total.get() * p / 100.0);
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= target && seen > 0) return Math.min(highestValueIn(i), max.get());
+            }
+            return max.get();
+        }
+
+        private static int indexOf(long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+            int magnitude = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+            int sub = (int) (value >>> magnitude) - SUB_BUCKETS / 2;
+            return Math.min(magnitude * SUB_BUCKETS / 2 + SUB_BUCKETS / 2 + sub, SUB_BUCKETS * MAGNITUDES - 1);
+        }
+
+        private static long highestValueIn(int index) {
+            if (index < SUB_BUCKETS) return index;
+            int magnitude = (index - SUB_BUCKETS / 2) / (SUB_BUCKETS / 2);
+            int sub = (index - SUB_BUCKETS / 2) % (SUB_BUCKETS / 2) + SUB_BUCKETS / 2;
+            return (((long) sub + 1) << magnitude) - 1;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LobbyTest {
+
+    private final TableRegistry tables = new TableRegistry();
+    private final GamePool pool = mock(GamePool.class);
+    private final Lobby lobby = new Lobby(tables, mock(ClusterMembership.class), mock(AiWorkQueue.class),
+            new ScoringEngine(new ScoringRules()), pool, 1, 4);
+
+    @AfterEach
+    void shutdown() {
+        lobby.shutdown();
+    }
+
+    @Test
+    void failedSeatingIsRetriedThenTheTicketFails() throws Exception {
+        when(pool.take(anyList())).thenThrow(new IllegalStateException("pool broken"));
+        ReflectionTestUtils.setField(lobby, "maxSeatAttempts", 3);
+        ReflectionTestUtils.setField(lobby, "maxTablesPerTick", 256);
+        // backfill-after-ms is left at 0, so a lone ticket is seated on the next tick.
+        LobbyTicket ticket = lobby.join("Alice");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ticket.getStatus() == LobbyTicket.Status.WAITING && System.currentTimeMillis() < deadline) {
+            lobby.matchmake();
+            Thread.sleep(10);
+        }
+        assertEquals(LobbyTicket.Status.FAILED, ticket.getStatus());
+        verify(pool, times(3)).take(anyList());
+    }
+
+    @Test
+    void onlyFinishedLobbyTablesAreEvicted() throws Exception {
+        ScoringEngine scoring = new ScoringEngine(new ScoringRules());
+        Game finished = Game.dealWithAIBackfill(List.of(), Game.SEATS, new Random(3));
+        finished.showdown(scoring);
+        Game defaultFinished = Game.dealWithAIBackfill(List.of(), Game.SEATS, new Random(4));
+        defaultFinished.showdown(scoring);
+        tables.put("finished", finished);
+        tables.put(TableRegistry.DEFAULT_TABLE, defaultFinished);
+        tables.put("playing", Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(5)));
+        ReflectionTestUtils.setField(lobby, "finishedTableTtlMs", 0L);
+        Thread.sleep(5);
+
+        lobby.evictFinishedTables();
+
+        assertNull(tables.get("finished"));
+        assertNotNull(tables.get(TableRegistry.DEFAULT_TABLE));
+        assertNotNull(tables.get("playing"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NextRoundPreparerTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private NextRoundPreparer preparer;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (preparer != null) preparer.shutdown();
+    }
+
+    @Test
+    void preparedRoundIsHandedOverOnce() {
+        preparer = new NextRoundPreparer(meters, 1, 4, 5000);
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(1));
+        preparer.prepare("t", () -> game);
+
+        assertSame(game, preparer.take("t"));
+        assertNull(preparer.take("t"));
+        assertEquals(1, meters.counter("pusoy.next-round.hits").count());
+        assertEquals(1, meters.counter("pusoy.next-round.misses").count());
+    }
+
+    @Test
+    void failedOrSlowPreparationIsAMiss() {
+        preparer = new NextRoundPreparer(meters, 2, 4, 100);
+        preparer.prepare("failed", () -> {
+            throw new AiOverloadedException(1);
+        });
+        preparer.prepare("slow", this::blockUntilReleased);
+
+        assertNull(preparer.take("failed"));
+        long start = System.nanoTime();
+        assertNull(preparer.take("slow"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertEquals(2, meters.counter("pusoy.next-round.misses").count());
+    }
+
+    @Test
+    void shutdownCancelsPendingRoundsAndReleasesWaiters() throws Exception {
+        preparer = new NextRoundPreparer(meters, 1, 4, 30_000);
+        preparer.prepare("t", this::blockUntilReleased);
+        CompletableFuture<Game> waiter = CompletableFuture.supplyAsync(() -> preparer.take("t"));
+        // Let the waiter reach its get() before cancelling.
+        Thread.sleep(200);
+
+        preparer.shutdown();
+
+        assertNull(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, meters.counter("pusoy.next-round.misses").count());
+    }
+
+    private Game blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class PartitionSearchPoolTest {
+
+    // A second application context in the same JVM (test slices, a restarted context) must not take the
+    // pool away from searches that are still using it.
+    @Test
+    void laterContextsReuseTheLivePool() {
+        new PartitionSearchPool(2, 2);
+        assertEquals(499_500L, sum(1000));
+
+        new PartitionSearchPool(1, 1);
+        assertEquals(499_500L, sum(1000));
+    }
+
+    private static long sum(int size) {
+        AtomicLong total = PartitionSearchPool.splitOver(size, AtomicLong::new, (acc, i) -> acc.addAndGet(i),
+                (a, b) -> {
+                    a.addAndGet(b.get());
+                    return a;
+                });
+        return total.get();
+    }
+}
@@ -3,7 +3,7 @@ package com.pusoygame.pusoybackend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"pusoy.warmup.enabled=false", "pusoy.pool.target-size=0"})
 class PusoyBackendApplicationTests {
 
     @Test
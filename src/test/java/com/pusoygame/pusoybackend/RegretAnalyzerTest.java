@@ -0,0 +1,119 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RegretAnalyzerTest {
+
+    private final ScoringEngine scoring = new ScoringEngine(new ScoringRules());
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final RegretAnalyzer analyzer = new RegretAnalyzer(scoring, meters, 1, 4);
+
+    @AfterEach
+    void shutdown() {
+        analyzer.shutdown();
+    }
+
+    @Test
+    void bestIsNeverWorseThanTheSubmission() {
+        for (int seed = 1; seed <= 3; seed++) {
+            Game round = settled(seed, null);
+
+            RegretReport report = analyzer.analyze(round, 0);
+
+            assertEquals(round.scoresBySeat()[0], report.getActualPoints(), "seed " + seed);
+            assertTrue(report.getBestPoints() >= report.getActualPoints(), "seed " + seed);
+            assertEquals(report.getBestPoints() - report.getActualPoints(), report.getPointRegret(), "seed " + seed);
+            assertFalse(report.getAlternatives().isEmpty(), "seed " + seed);
+        }
+    }
+
+    // Replaying the same deal with the best-scoring alternative as the submission leaves nothing to regret.
+    @Test
+    void submittingTheBestAlternativeHasNoRegret() {
+        RegretReport first = analyzer.analyze(settled(2, null), 0);
+        ArrangementSuggestion best = first.getAlternatives().get(0).getArrangement();
+
+        Game replay = settled(2, best);
+        RegretReport report = analyzer.analyze(replay, 0);
+
+        assertEquals(first.getAlternatives().get(0).getPoints(), report.getActualPoints());
+        assertEquals(report.getActualPoints(), report.getBestPoints());
+        assertEquals(0, report.getPointRegret());
+        assertEquals(0.0, report.getFrontDelta());
+        assertEquals(0.0, report.getMiddleDelta());
+        assertEquals(0.0, report.getBackDelta());
+    }
+
+    @Test
+    void reportIsAttachedToTheRoundItAnalysed() throws Exception {
+        TableActor table = new TableActor("t", settled(1, null));
+        String alice = table.view().game().getPlayers().get(0).getId();
+
+        analyzer.analyzeLater(table);
+        awaitAnalyses(1);
+        table.ask(game -> null).get(5, TimeUnit.SECONDS);
+
+        assertTrue(table.view().game().getRegret().containsKey(alice));
+        assertEquals(0, meters.counter("pusoy.regret.dropped").count());
+    }
+
+    @Test
+    void reportIsDroppedWhenTheTableDealtAgainFirst() throws Exception {
+        TableActor table = new TableActor("t", settled(1, null));
+        // Hold the actor so the next deal is queued ahead of the report's attach command.
+        CountDownLatch release = new CountDownLatch(1);
+        table.ask(game -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        Game next = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(99));
+        table.replace(next);
+
+        analyzer.analyzeLater(table);
+        release.countDown();
+        awaitAnalyses(1);
+        table.ask(game -> null).get(5, TimeUnit.SECONDS);
+
+        assertTrue(table.view().game().getRegret().isEmpty());
+        assertEquals(1, meters.counter("pusoy.regret.dropped").count());
+    }
+
+    // A seeded one-human table after its showdown; Alice plays the given rows, or the cheap sorted split.
+    private Game settled(int seed, ArrangementSuggestion rows) {
+        Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(seed));
+        game.arrangeAISeatsSorted();
+        Player alice = game.getPlayers().get(0);
+        assertEquals(AutoWinChecker.AutoWinType.NONE, alice.getAutoWin(), "seed " + seed);
+        if (rows == null) {
+            game.applySortedSplit(alice);
+        } else {
+            assertTrue(game.setPlayerHands(alice, new Hand(rows.getFrontHand()), new Hand(rows.getMiddleHand()),
+                    new Hand(rows.getBackHand())));
+        }
+        game.showdown(scoring);
+        return game;
+    }
+
+    private void awaitAnalyses(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (meters.timer("pusoy.regret.analysis").count() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, meters.timer("pusoy.regret.analysis").count());
+    }
+}
@@ -0,0 +1,103 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RowPercentilesTest {
+
+    // Tables hold parts per million, rounded.
+    private static final double PPM = 1.0 / RowPercentiles.SCALE;
+
+    @Test
+    void frontWinRatesMatchEnumeration() {
+        int[] opponents = allStrengths(3);
+        for (String front : List.of("2C 3D 5H", "QC KD TS", "9S 9H 2D", "AS AH 4C", "7C 7D 7S")) {
+            List<Card> row = cards(front);
+            assertEquals(bruteForceWinRate(row, opponents), RowPercentiles.winRate(row), PPM, front);
+        }
+    }
+
+    @Test
+    void middleWinRatesMatchEnumeration() {
+        int[] opponents = allStrengths(5);
+        for (String middle : List.of("2C 3D 4H 5S 7C", "8S 8H KD 4C 2S", "5C 6D 7H 8S 9C", "2H 6H 9H JH KH",
+                "TC TD TS 4H 4C")) {
+            List<Card> row = cards(middle);
+            assertEquals(bruteForceWinRate(row, opponents), RowPercentiles.winRate(row), PPM, middle);
+        }
+    }
+
+    // The build generates row-percentiles.bin; it must hold exactly what the fallback would compute.
+    @Test
+    void loadedTablesMatchTheComputedFallback() {
+        assertNotNull(RowPercentiles.class.getClassLoader().getResource(HandTablesGenerator.PERCENTILE_RESOURCE));
+        int[][] computed = HandTablesGenerator.computePercentiles(
+                new int[][]{HandTables.FLUSH5, HandTables.UNIQUE5, HandTables.MULTI5, HandTables.MULTI3});
+        String[] names = {"FLUSH5", "UNIQUE5", "MULTI5", "MULTI3"};
+        for (int t = 0; t < names.length; t++) {
+            assertArrayEquals(computed[t], (int[]) ReflectionTestUtils.getField(RowPercentiles.class, names[t]), names[t]);
+        }
+    }
+
+    // Share of all rows of the same size (drawn from a full deck) the row beats, ties counting half.
+    private static double bruteForceWinRate(List<Card> row, int[] sortedOpponents) {
+        int strength = HandEvaluator.computeStrength(row);
+        int below = lowerBound(sortedOpponents, strength);
+        int equal = lowerBound(sortedOpponents, strength + 1) - below;
+        return (below + equal / 2.0) / sortedOpponents.length;
+    }
+
+    // Reference strengths (HandEvaluator.computeStrength, not the tables) of every 3- or 5-card hand, sorted.
+    private static int[] allStrengths(int size) {
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < 52; i++) deck.add(Card.fromIndex(i));
+        int[] strengths = new int[size == 5 ? 2_598_960 : 22_100];
+        int[] at = new int[size];
+        for (int i = 0; i < size; i++) at[i] = i;
+        int n = 0;
+        List<Card> hand = new ArrayList<>(Arrays.asList(new Card[size]));
+        while (true) {
+            for (int i = 0; i < size; i++) hand.set(i, deck.get(at[i]));
+            strengths[n++] = HandEvaluator.computeStrength(hand);
+            int i = size - 1;
+            while (i >= 0 && at[i] == 52 - size + i) i--;
+            if (i < 0) break;
+            at[i]++;
+            for (int j = i + 1; j < size; j++) at[j] = at[j - 1] + 1;
+        }
+        assertEquals(strengths.length, n);
+        Arrays.sort(strengths);
+        return strengths;
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static List<Card> cards(String spec) {
+        List<Card> cards = new ArrayList<>();
+        for (String code : spec.split(" ")) {
+            int value = "23456789TJQKA".indexOf(code.charAt(0)) + 2;
+            Rank rank = Arrays.stream(Rank.values()).filter(r -> r.getValue() == value).findFirst().orElseThrow();
+            Suit suit = Arrays.stream(Suit.values()).filter(s -> s.name().charAt(0) == code.charAt(1))
+                    .findFirst().orElseThrow();
+            cards.add(new Card(suit, rank));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,124 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Settlement by hand-built rows. Rows are set directly on the seats, so the seats need not come from one deck;
+ * ScoringEngine only reads the rows.
+ */
+class ScoringEngineTest {
+
+    // Pair of queens, pair of kings, trip aces.
+    private static final String[] STRONG = {"QC QD 4H", "KC KD 5H 6S 8C", "AC AD AH 7S 9C"};
+    // Five high, king high, pair of fours.
+    private static final String[] WEAK = {"2C 3D 5H", "7C 8D 9H JS KH", "AS 4D 4C 6D TS"};
+    // Trip deuces in front (front bonus 3), pair of threes, trip fives.
+    private static final String[] TRIPS_FRONT = {"2S 2H 2D", "3C 3S 6H 7D 9S", "5C 5D 5S 8H JD"};
+    // Trip tens in the middle over a pair of queens in the back: fouled.
+    private static final String[] FOULED = {"4S 6C 7H", "TC TD TH 3H 8S", "QS QH 9D JC KS"};
+
+    private final ScoringEngine scoring = new ScoringEngine(rules());
+
+    @Test
+    void scoopPaysEveryRowAndTheScoopBonus() {
+        assertArrayEquals(new int[]{6, -6}, scoring.scoreRound(game(seat(STRONG), seat(WEAK))));
+    }
+
+    @Test
+    void rowBonusGoesToTheRowWinnerOnly() {
+        // Front: trips win 1 + 3 bonus; middle and back lost for 1 each.
+        assertArrayEquals(new int[]{2, -2}, scoring.scoreRound(game(seat(TRIPS_FRONT), seat(STRONG))));
+        // All three rows plus the scoop, and the front bonus.
+        assertArrayEquals(new int[]{9, -9}, scoring.scoreRound(game(seat(TRIPS_FRONT), seat(WEAK))));
+    }
+
+    @Test
+    void foulAndUnsetSeatsLoseEveryRowPlusPenalties() {
+        // 3 rows + scoop 3 + foul penalty 3.
+        assertArrayEquals(new int[]{9, -9}, scoring.scoreRound(game(seat(WEAK), seat(FOULED))));
+        assertArrayEquals(new int[]{9, -9}, scoring.scoreRound(game(seat(WEAK), unset())));
+        assertArrayEquals(new int[]{0, 0}, scoring.scoreRound(game(seat(FOULED), unset())));
+    }
+
+    @Test
+    void roundScoresSumToZeroAndMatchThePairs() {
+        Game game = game(seat(STRONG), seat(WEAK), seat(TRIPS_FRONT), seat(FOULED));
+        int[] net = scoring.scoreRound(game);
+
+        assertArrayEquals(new int[]{6 - 2 + 9, -6 - 9 + 9, 2 + 9 + 9, -27}, net);
+        assertEquals(0, Arrays.stream(net).sum());
+        // The what-if path agrees with the round when the seat keeps its own rows.
+        assertEquals(net[2], scoring.scoreSeatWith(game, 2, cards(TRIPS_FRONT[0]), cards(TRIPS_FRONT[1]),
+                cards(TRIPS_FRONT[2])));
+    }
+
+    @Test
+    void autoWinBeatsAnyArrangementAndTheHigherAutoWinWins() {
+        Player sixPairs = autoWin(AutoWinChecker.AutoWinType.SIX_PAIRS);
+        Player dragon = autoWin(AutoWinChecker.AutoWinType.DRAGON_STRAIGHT);
+        int[] net = scoring.scoreRound(game(sixPairs, seat(WEAK), seat(FOULED), dragon));
+
+        // Six pairs: +3 from each arranged seat, fouled or not, -13 to the dragon.
+        assertArrayEquals(new int[]{3 + 3 - 13, -3 + 9 - 13, -3 - 9 - 13, 13 * 3}, net);
+        assertEquals(0, Arrays.stream(net).sum());
+
+        assertArrayEquals(new int[]{0, 0}, scoring.scoreRound(game(
+                autoWin(AutoWinChecker.AutoWinType.SIX_PAIRS), autoWin(AutoWinChecker.AutoWinType.SIX_PAIRS))));
+    }
+
+    private static ScoringRules rules() {
+        ScoringRules rules = new ScoringRules();
+        rules.setRowPoints(1);
+        rules.setScoopBonus(3);
+        rules.setFoulPenalty(3);
+        rules.setFrontBonus(new EnumMap<>(Map.of(HandEvaluator.HandRank.THREE_OF_A_KIND, 3)));
+        rules.setMiddleBonus(new EnumMap<>(Map.of(HandEvaluator.HandRank.FULL_HOUSE, 2)));
+        rules.setBackBonus(new EnumMap<>(Map.of(HandEvaluator.HandRank.FOUR_OF_A_KIND, 4)));
+        rules.setAutoWin(new EnumMap<>(Map.of(
+                AutoWinChecker.AutoWinType.SIX_PAIRS, 3,
+                AutoWinChecker.AutoWinType.DRAGON_STRAIGHT, 13)));
+        return rules;
+    }
+
+    private static Game game(Player... seats) {
+        return new Game(new ArrayList<>(List.of(seats)), List.of(), Game.Phase.DEALT);
+    }
+
+    private static Player seat(String[] rows) {
+        Player p = new Player("P");
+        p.setHands(new Hand(cards(rows[0])), new Hand(cards(rows[1])), new Hand(cards(rows[2])));
+        return p;
+    }
+
+    private static Player unset() {
+        return new Player("Unset");
+    }
+
+    private static Player autoWin(AutoWinChecker.AutoWinType type) {
+        Player p = new Player("Auto");
+        p.setAutoWin(type);
+        return p;
+    }
+
+    // "QC KD TS": rank 2-9, T, J, Q, K or A followed by the suit's initial.
+    private static List<Card> cards(String spec) {
+        List<Card> cards = new ArrayList<>();
+        for (String code : spec.split(" ")) {
+            int value = "23456789TJQKA".indexOf(code.charAt(0)) + 2;
+            Rank rank = Arrays.stream(Rank.values()).filter(r -> r.getValue() == value).findFirst().orElseThrow();
+            Suit suit = Arrays.stream(Suit.values()).filter(s -> s.name().charAt(0) == code.charAt(1))
+                    .findFirst().orElseThrow();
+            cards.add(new Card(suit, rank));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,85 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ShowdownMatrixTest {
+
+    private static final ScoringEngine SCORING = new ScoringEngine(new ScoringRules());
+
+    @Test
+    void allAiTablesSettleEveryPairConsistently() {
+        for (int seed = 0; seed < 300; seed++) {
+            Game game = Game.dealWithAIBackfill(List.of(), Game.SEATS, new Random(seed));
+            game.arrangeAISeatsSorted();
+            assertConsistent(game, "seed " + seed);
+        }
+    }
+
+    // A human who never set rows is scored as fouled: every legally arranged seat wins all three rows from it.
+    @Test
+    void unsetHumanLosesEveryRowToEveryArrangedSeat() {
+        for (int seed = 0; seed < 100; seed++) {
+            Game game = Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(seed));
+            game.arrangeAISeatsSorted();
+            Player alice = game.getPlayers().get(0);
+            if (alice.getAutoWin() != AutoWinChecker.AutoWinType.NONE) continue;
+
+            ShowdownMatrix matrix = SCORING.settleAll(game);
+            assertTrue(matrix.getFouled()[0], "seed " + seed);
+            for (int j = 1; j < Game.SEATS; j++) {
+                if (matrix.getSettledByAutoWin()[0][j] || matrix.getFouled()[j]) continue;
+                assertEquals(-1, matrix.getFront()[0][j], "seed " + seed);
+                assertEquals(-1, matrix.getMiddle()[0][j], "seed " + seed);
+                assertEquals(-1, matrix.getBack()[0][j], "seed " + seed);
+                assertTrue(matrix.getPoints()[0][j] < 0, "seed " + seed);
+            }
+            assertConsistent(game, "seed " + seed);
+        }
+    }
+
+    private static void assertConsistent(Game game, String label) {
+        ShowdownMatrix matrix = SCORING.settleAll(game);
+        List<Player> players = game.getPlayers();
+        int n = players.size();
+        int[][] points = matrix.getPoints();
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(players.get(i).getId(), matrix.getPlayerIds().get(i), label);
+            assertEquals(0, points[i][i], label);
+            for (int j = 0; j < n; j++) {
+                assertEquals(-points[j][i], points[i][j], label + ": points " + i + " vs " + j);
+                assertEquals(-matrix.getFront()[j][i], matrix.getFront()[i][j], label);
+                assertEquals(-matrix.getMiddle()[j][i], matrix.getMiddle()[i][j], label);
+                assertEquals(-matrix.getBack()[j][i], matrix.getBack()[i][j], label);
+                assertEquals(matrix.getSettledByAutoWin()[j][i], matrix.getSettledByAutoWin()[i][j], label);
+                if (i == j) continue;
+                // Each pair settles on its own: the same two seats alone at a table score the same.
+                Game pair = new Game(new ArrayList<>(List.of(players.get(i), players.get(j))), List.of(),
+                        Game.Phase.DEALT);
+                assertEquals(points[i][j], SCORING.scoreRound(pair)[0], label + ": pair " + i + " vs " + j);
+            }
+        }
+
+        int[] net = matrix.getNetPoints();
+        assertArrayEquals(SCORING.scoreRound(game), net, label);
+        assertEquals(0, Arrays.stream(net).sum(), label);
+        for (int i = 0; i < n; i++) {
+            int rowSum = Arrays.stream(points[i]).sum();
+            assertEquals(rowSum, net[i], label);
+            Player p = players.get(i);
+            if (p.getBackHand() == null) continue;
+            // Scoring the seat's own rows as a what-if gives its actual result.
+            assertEquals(net[i], SCORING.scoreSeatWith(game, i, p.getFrontHand().getCards(),
+                    p.getMiddleHand().getCards(), p.getBackHand().getCards()), label + ": seat " + i);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures time-to-first-request of the packaged application, with and without the -Pcds startup profile.
+ * Not a unit test; build with "./mvnw -Pcds package" first, then run e.g.
+ *
+ *   ./mvnw -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.pusoygame.pusoybackend.StartupBenchmark -Dexec.args="--runs=5"
+ *
+ * Each run starts a fresh JVM and polls until /actuator/health answers 200 (context up) and then times the
+ * first GET /tables/{unknown} (first request through the full MVC path, without paying for an AI search).
+ */
+public class StartupBenchmark {
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new LinkedHashMap<>();
+        opts.put("target", "target");
+        opts.put("jar", "PusoyBackend-0.0.1-SNAPSHOT.jar");
+        opts.put("runs", "5");
+        opts.put("port", "18080");
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length == 2) opts.put(kv[0], kv[1]);
+        }
+
+        File target = new File(opts.get("target"));
+        String jar = opts.get("jar");
+        int runs = Integer.parseInt(opts.get("runs"));
+        int port = Integer.parseInt(opts.get("port"));
+
+        report("fat jar", runs, port, target, List.of("-jar", jar));
+        File extracted = new File(target, "extracted");
+        if (new File(extracted, "application.jsa").exists()) {
+            report("extracted", runs, port, extracted, List.of("-jar", jar));
+            report("extracted + AppCDS + AOT", runs, port, extracted,
+                    List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true", "-jar", jar));
+        } else {
+            System.out.println("No CDS archive in " + extracted + "; build with -Pcds to compare.");
+        }
+    }
+
+    private static void report(String label, int runs, int port, File dir, List<String> jvmArgs) throws Exception {
+        long healthTotal = 0, firstRequestTotal = 0;
+        for (int i = 0; i < runs; i++) {
+            long[] t = startOnce(port, dir, jvmArgs);
+            healthTotal += t[0];
+            firstRequestTotal += t[1];
+        }
+        System.out.printf("%-28s health up after %6d ms, first request answered after %6d ms (mean of %d)%n",
+                label, healthTotal / runs, firstRequestTotal / runs, runs);
+    }
+
+    // Returns {ms until health is up, ms until the first request was answered}, both from process launch.
+    private static long[] startOnce(int port, File dir, List<String> jvmArgs) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(ProcessHandle.current().info().command().orElse("java"));
+        cmd.addAll(jvmArgs);
+        cmd.add("--server.port=" + port);
+        cmd.add("--pusoy.snapshot.enabled=false");
+        // The JIT warm-up holds readiness for up to a minute and the game pool competes for CPU; neither is startup.
+        cmd.add("--pusoy.warmup.enabled=false");
+        cmd.add("--pusoy.pool.target-size=0");
+
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(cmd).directory(dir).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            String base = "http://localhost:" + port;
+            while (status(base + "/actuator/health") != 200) {
+                if (!app.isAlive()) throw new IllegalStateException("Application exited during startup");
+                Thread.sleep(10);
+            }
+            long health = (System.nanoTime() - start) / 1_000_000;
+            status(base + "/tables/startup-probe");
+            long firstRequest = (System.nanoTime() - start) / 1_000_000;
+            return new long[]{health, firstRequest};
+        } finally {
+            app.destroy();
+            app.waitFor();
+        }
+    }
+
+    private static int status(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+            return HTTP.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.pusoygame.pusoybackend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TableActorTest {
+
+    @Test
+    void errorInCommandFailsItsFutureAndLaterCommandsStillRun() throws Exception {
+        TableActor table = new TableActor("t", Game.dealWithAIBackfill(List.of("Alice"), Game.SEATS, new Random(1)));
+
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> table.ask(game -> {
+            throw new AssertionError("boom");
+        }).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, failed.getCause());
+
+        assertEquals(Game.SEATS, table.ask(game -> game.getPlayers().size()).get(5, TimeUnit.SECONDS));
+        assertEquals(2, table.view().version());
+    }
+}
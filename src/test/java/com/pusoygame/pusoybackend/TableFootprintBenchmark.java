@@ -0,0 +1,70 @@
+package com.pusoygame.pusoybackend;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how many tables fit in a GB of heap. Not a unit test; run it e.g. with
+ *
+ *   ./mvnw -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.pusoygame.pusoybackend.TableFootprintBenchmark -Dexec.args="--tables=50000"
+ *
+ * Fills a TableRegistry with four-seat tables as the lobby leaves them (one human, AI seats arranged, and
+ * with --settled=true the showdown played too) and reports the heap growth per table after a full GC. That
+ * includes the actor and its published view, so it is the real cost of an open table, not just the Game.
+ * AI seats take the sorted split: a searched arrangement is stored the same way and costs the same bytes.
+ */
+public class TableFootprintBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        opts.put("tables", "50000");
+        opts.put("settled", "false");
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length == 2) opts.put(kv[0], kv[1]);
+        }
+        int tables = Integer.parseInt(opts.get("tables"));
+        boolean settled = Boolean.parseBoolean(opts.get("settled"));
+        ScoringEngine scoring = new ScoringEngine(new ScoringRules());
+
+        // Setting hands logs every row; that would dominate the run.
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        // Warm the shared tables (hand lookups, card cache) so they are not charged to the first table.
+        newTable(scoring, settled);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedAfterGc(memory);
+        TableRegistry registry = new TableRegistry();
+        long start = System.nanoTime();
+        for (int i = 0; i < tables; i++) registry.add(newTable(scoring, settled));
+        long fillMs = (System.nanoTime() - start) / 1_000_000;
+        long after = usedAfterGc(memory);
+        System.setOut(out);
+
+        double perTable = (double) (after - before) / registry.size();
+        System.out.printf("%d %s tables in %d ms: %.0f bytes per table, %,.0f tables per GB of heap%n",
+                registry.size(), settled ? "settled" : "dealt", fillMs, perTable, (1L << 30) / perTable);
+    }
+
+    private static Game newTable(ScoringEngine scoring, boolean settled) {
+        Game game = Game.dealWithAIBackfill(List.of("Player"), Game.SEATS);
+        game.arrangeAISeatsSorted();
+        if (settled) {
+            game.applySortedSplit(game.getPlayers().get(0));
+            game.showdown(scoring);
+        }
+        return game;
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}